@@ -0,0 +1,64 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.AnalyticsSnapshot;
+import com.studentregistration.models.Course;
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.EnrollmentStats;
+import com.studentregistration.utils.FileManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The analytics aggregations: a full recompute of the per-course,
+ * per-program and credit-load counts, and the dashboard totals that the
+ * repository keeps up to date incrementally.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnalyticsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int students;
+
+    private List<Student> roster;
+    private List<Course> courses;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.prepare(students);
+        roster = FileManager.loadStudents();
+        courses = FileManager.loadCourses();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.cleanUp();
+    }
+
+    @Benchmark
+    public AnalyticsSnapshot computeSnapshot() {
+        return AnalyticsSnapshot.compute(roster, courses);
+    }
+
+    @Benchmark
+    public EnrollmentStats enrollmentStats() {
+        return FileManager.getEnrollmentStats();
+    }
+}
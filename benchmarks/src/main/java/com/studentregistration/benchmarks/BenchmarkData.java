@@ -0,0 +1,133 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.CredentialStore;
+import com.studentregistration.utils.FileManager;
+import com.studentregistration.utils.PasswordHasher;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Generated data directory shared by the suites.
+ *
+ * FileManager fixes its data directory when the class loads, so each JVM
+ * can only ever see one roster. JMH runs every @Param value in a fresh
+ * fork, which is what makes this work; running with -f 0 is refused.
+ */
+public class BenchmarkData {
+    public static final String PASSWORD = "benchmark-password";
+    // Students that get a credential row; logins are drawn from these
+    public static final int LOGIN_SAMPLE = 1024;
+
+    static final String[] PROGRAMS = {
+        "Computer Science", "Mathematics", "Physics", "Business Administration", "Engineering", "Biology"
+    };
+
+    private static Path dataDir;
+    private static int preparedStudents = -1;
+
+    /**
+     * Points FileManager at a new temporary directory holding the given
+     * number of students plus the default course catalog. Must run before
+     * anything touches FileManager.
+     */
+    public static synchronized Path prepare(int students) throws IOException {
+        if (preparedStudents == students) {
+            return dataDir;
+        }
+        if (preparedStudents >= 0) {
+            throw new IllegalStateException("Data for " + preparedStudents
+                    + " students is already loaded; each size needs its own fork (do not run with -f 0)");
+        }
+
+        dataDir = Files.createTempDirectory("registration-bench-");
+        System.setProperty("registration.dataDir", dataDir.toString());
+        AsyncService.setHeadless(true);
+
+        // Written before initialization so the credential store loads it instead of migrating
+        writeCredentials(dataDir.resolve("credentials.txt"), Math.min(students, LOGIN_SAMPLE));
+        if (!FileManager.initializeDataFiles()) {
+            throw new IOException("Could not initialize " + dataDir);
+        }
+
+        saveRoster(generateStudents(students, FileManager.loadCourses(), new Random(42)));
+        preparedStudents = students;
+        return dataDir;
+    }
+
+    public static synchronized void cleanUp() {
+        if (dataDir == null) {
+            return;
+        }
+        FileManager.shutdown();
+        try (Stream<Path> paths = Files.walk(dataDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not remove " + dataDir + ": " + e.getMessage());
+        }
+    }
+
+    // Replaces the roster with the generated students, keeping the admin account
+    static void saveRoster(List<Student> generated) throws IOException {
+        // Lets the startup credential migration finish so it cannot race the rewrite
+        CredentialStore.migrate();
+        List<Student> roster = new ArrayList<>(FileManager.loadStudents());
+        roster.addAll(generated);
+        if (!FileManager.saveStudents(roster)) {
+            throw new IOException("Could not write the generated roster to " + System.getProperty("registration.dataDir"));
+        }
+    }
+
+    // Same shape as the IDs StudentIdAllocator hands out, which start at 100000
+    public static String studentId(int index) {
+        return String.format("STU%06d", 100_000 + index);
+    }
+
+    public static String email(int index) {
+        return "student" + index + "@university.edu";
+    }
+
+    public static List<Student> generateStudents(int count, List<Course> courses, Random random) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(generateStudent(i, courses, random));
+        }
+        return students;
+    }
+
+    public static Student generateStudent(int index, List<Course> courses, Random random) {
+        Student student = new Student(studentId(index), "Student " + index, email(index),
+                PROGRAMS[random.nextInt(PROGRAMS.length)], "Semester " + (1 + random.nextInt(8)),
+                CredentialStore.PASSWORD_MARKER);
+        int courseCount = random.nextInt(Math.min(Student.MAX_COURSES, courses.size()) + 1);
+        for (int i = 0; i < courseCount; i++) {
+            student.addCourse(courses.get(random.nextInt(courses.size())).getCourseCode());
+        }
+        return student;
+    }
+
+    // One salt and hash for everyone: hashing a large sample would dominate setup
+    static void writeCredentials(Path file, int count) throws IOException {
+        byte[] salt = PasswordHasher.newSalt();
+        byte[] hash = PasswordHasher.hash(PASSWORD, salt, PasswordHasher.ITERATIONS);
+        Base64.Encoder encoder = Base64.getEncoder();
+        String suffix = "," + PasswordHasher.ITERATIONS + "," + encoder.encodeToString(salt) + "," + encoder.encodeToString(hash);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            writer.println("# Credential Format: StudentID,Iterations,Salt,Hash");
+            for (int i = 0; i < count; i++) {
+                writer.println(studentId(i) + suffix);
+            }
+        }
+    }
+}
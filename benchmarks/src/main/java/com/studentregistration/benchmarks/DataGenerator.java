@@ -0,0 +1,233 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.CourseCatalog;
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.CredentialStore;
+import com.studentregistration.utils.FileManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a synthetic data directory for sizing and load tests.
+ *
+ * Usage: DataGenerator --out DIR [--students N] [--courses N] [--zipf S]
+ *        [--log-depth N] [--days N] [--seat-factor F] [--seed N]
+ *
+ * Course popularity follows a Zipf distribution with exponent S (0 is
+ * uniform). Seats are sized so that total capacity is F times the expected
+ * demand, so popular courses fill up while the tail keeps free seats.
+ * Students never hold clashing or full courses, as the application would
+ * enforce. --log-depth is the number of registration log records per
+ * student: the account creation, a REGISTER for every course held, and
+ * REGISTER/DROP pairs for courses tried and dropped on the way.
+ *
+ * All files are written through FileManager, so they match what the
+ * application writes, including log segments and their manifest. Every
+ * student's password is BenchmarkData.PASSWORD.
+ */
+public class DataGenerator {
+    static final int MAX_COURSES_PER_STUDENT = 5;
+    static final double AVERAGE_COURSES_PER_STUDENT = (1 + MAX_COURSES_PER_STUDENT) / 2.0;
+
+    private static final String[][] DEPARTMENTS = {
+        {"CS", "Computer Science"}, {"IT", "Information Technology"}, {"MATH", "Mathematics"},
+        {"PHYS", "Physics"}, {"BUS", "Business"}, {"ENG", "English"}, {"BIO", "Biology"}
+    };
+    private static final String[] SLOTS = {
+        "MWF 8:00-9:00", "MWF 9:00-10:00", "MWF 10:00-11:00", "MWF 11:00-12:00",
+        "MWF 1:00-2:00", "MWF 2:00-3:00", "MWF 3:00-4:00",
+        "TTh 9:00-10:30", "TTh 11:00-12:30", "TTh 1:00-2:30", "TTh 3:30-5:00"
+    };
+
+    private final int studentCount;
+    private final int courseCount;
+    private final double zipfExponent;
+    private final int logDepth;
+    private final int days;
+    private final double seatFactor;
+    private final Random random;
+
+    public DataGenerator(int studentCount, int courseCount, double zipfExponent, int logDepth,
+                         int days, double seatFactor, long seed) {
+        this.studentCount = studentCount;
+        this.courseCount = courseCount;
+        this.zipfExponent = zipfExponent;
+        this.logDepth = logDepth;
+        this.days = days;
+        this.seatFactor = seatFactor;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String out = options.get("out");
+        if (out == null) {
+            System.err.println("Usage: DataGenerator --out DIR [--students N] [--courses N] [--zipf S]"
+                    + " [--log-depth N] [--days N] [--seat-factor F] [--seed N]");
+            System.exit(2);
+        }
+        DataGenerator generator = new DataGenerator(
+                Integer.parseInt(options.getOrDefault("students", "10000")),
+                Integer.parseInt(options.getOrDefault("courses", "60")),
+                Double.parseDouble(options.getOrDefault("zipf", "1.0")),
+                Integer.parseInt(options.getOrDefault("log-depth", "6")),
+                Integer.parseInt(options.getOrDefault("days", "120")),
+                Double.parseDouble(options.getOrDefault("seat-factor", "1.2")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+
+        long started = System.nanoTime();
+        generator.generate(Paths.get(out));
+        System.out.printf("Generated %d students, %d courses in %s (%d s)%n", generator.studentCount,
+                generator.courseCount, out, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        // Log segments are compressed on daemon threads; anything unfinished is picked up on the next start
+        System.exit(0);
+    }
+
+    // "--name value" pairs
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an option name but got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * Fills the directory, which must not hold a roster yet. Points
+     * FileManager at it, so it can only run once per JVM.
+     */
+    public void generate(Path dir) throws IOException, InterruptedException {
+        if (Files.exists(dir.resolve("students.txt"))) {
+            throw new IOException(dir + " already holds a roster; refusing to overwrite it");
+        }
+        Files.createDirectories(dir);
+        System.setProperty("registration.dataDir", dir.toString());
+        AsyncService.setHeadless(true);
+
+        List<Course> courses = generateCourses();
+        BenchmarkData.writeCredentials(dir.resolve("credentials.txt"), studentCount);
+        // Saved before initialization, which would otherwise write the default catalog
+        if (!FileManager.saveCourses(courses) || !FileManager.initializeDataFiles()) {
+            throw new IOException("Could not initialize " + dir);
+        }
+
+        CourseCatalog catalog = new CourseCatalog("generated", courses);
+        ZipfSampler popularity = new ZipfSampler(courses.size(), zipfExponent);
+        int[] courseByRank = shuffledIndexes(courses.size());
+        int[] taken = new int[courses.size()];
+
+        List<Student> students = new ArrayList<>(studentCount);
+        long end = System.currentTimeMillis();
+        long start = end - TimeUnit.DAYS.toMillis(days);
+        long step = Math.max(1, (end - start) / Math.max(1, studentCount));
+        for (int i = 0; i < studentCount; i++) {
+            Student student = BenchmarkData.generateStudent(i, List.of(), random);
+            List<Integer> held = pickCourses(catalog, popularity, courseByRank, taken);
+            for (int index : held) {
+                student.addCourse(courses.get(index).getCourseCode());
+            }
+            students.add(student);
+            writeHistory(student, catalog, held, popularity, courseByRank, start + i * step, step);
+        }
+
+        BenchmarkData.saveRoster(students);
+        FileManager.shutdown();
+    }
+
+    private List<Course> generateCourses() {
+        double expectedDemand = studentCount * AVERAGE_COURSES_PER_STUDENT / courseCount;
+        List<Course> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            String[] department = DEPARTMENTS[i % DEPARTMENTS.length];
+            int number = 101 + i / DEPARTMENTS.length;
+            int seats = (int) Math.max(10, Math.round(expectedDemand * seatFactor * (0.5 + random.nextDouble())));
+            courses.add(new Course(department[0] + number, department[1] + " " + number,
+                    "Dr. Faculty" + (1 + i % 40), 2 + random.nextInt(3),
+                    SLOTS[random.nextInt(SLOTS.length)], seats));
+        }
+        return courses;
+    }
+
+    // Popularity rank -> catalog index, so popularity does not follow catalog order
+    private int[] shuffledIndexes(int size) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    // Catalog indexes of the courses a student ends up holding, with their seats taken
+    private List<Integer> pickCourses(CourseCatalog catalog, ZipfSampler popularity, int[] courseByRank, int[] taken) {
+        int wanted = Math.min(1 + random.nextInt(MAX_COURSES_PER_STUDENT), Student.MAX_COURSES);
+        List<Integer> held = new ArrayList<>(wanted);
+        for (int attempt = 0; attempt < wanted * 4 && held.size() < wanted; attempt++) {
+            int index = courseByRank[popularity.next(random)];
+            Course course = catalog.getCourses().get(index);
+            if (held.contains(index) || (course.hasSeatLimit() && taken[index] >= course.getMaxSeats())
+                    || clashes(catalog, index, held)) {
+                continue;
+            }
+            held.add(index);
+            taken[index]++;
+        }
+        return held;
+    }
+
+    private static boolean clashes(CourseCatalog catalog, int index, List<Integer> held) {
+        for (int other : held) {
+            if (catalog.conflicts(index, other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Log records for one student, spread evenly over [from, from + span)
+    private void writeHistory(Student student, CourseCatalog catalog, List<Integer> held, ZipfSampler popularity,
+                              int[] courseByRank, long from, long span) throws InterruptedException {
+        String studentId = student.getStudentId();
+        List<String> records = new ArrayList<>(Math.max(logDepth, 1 + held.size()));
+        records.add(studentId + ",STUDENT_REGISTERED,N/A,New student account created: " + student.getName());
+
+        // Courses tried and dropped again before settling on the final ones
+        int tries = Math.max(0, (logDepth - 1 - held.size()) / 2);
+        for (int i = 0; i < tries; i++) {
+            int index = courseByRank[popularity.next(random)];
+            if (held.contains(index)) {
+                continue;
+            }
+            Course course = catalog.getCourses().get(index);
+            records.add(studentId + ",REGISTER," + course.getCourseCode() + "," + course.getCourseName());
+            records.add(studentId + ",DROP," + course.getCourseCode() + "," + course.getCourseName());
+        }
+        for (int index : held) {
+            Course course = catalog.getCourses().get(index);
+            records.add(studentId + ",REGISTER," + course.getCourseCode() + "," + course.getCourseName());
+        }
+
+        long gap = Math.max(1, span / (records.size() + 1));
+        for (int i = 0; i < records.size(); i++) {
+            FileManager.logRegistrationsAt(from + (i + 1) * gap, List.of(records.get(i)));
+        }
+    }
+}
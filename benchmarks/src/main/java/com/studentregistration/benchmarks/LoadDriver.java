@@ -0,0 +1,266 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.Student;
+import com.studentregistration.services.AccountService;
+import com.studentregistration.services.CourseCatalogService;
+import com.studentregistration.services.RegistrationService;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.CredentialStore;
+import com.studentregistration.utils.FileManager;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a concurrent mix of logins, registrations and drops against the
+ * service layer of an existing data directory and reports throughput and
+ * p50/p99 latency per operation.
+ *
+ * Usage: LoadDriver --data DIR [--threads N] [--seconds N] [--warmup N]
+ *        [--mix login=20,register=40,drop=40] [--zipf S] [--seed N]
+ *
+ * Students are picked uniformly. Registrations pick courses by Zipf rank
+ * over the current seat counts, so the popular courses stay the contended
+ * ones; a drop by a student who holds nothing counts as rejected. The
+ * directory is modified, so point it at a copy of generated data.
+ * Logins use BenchmarkData.PASSWORD and should run with the same
+ * registration.password.iterations as the generator, otherwise every
+ * login also rehashes the password.
+ */
+public class LoadDriver {
+    enum Operation { LOGIN, REGISTER, DROP }
+
+    // Outcomes
+    private static final int OK = 0;
+    private static final int REJECTED = 1;
+    private static final int ERROR = 2;
+
+    private final String[] studentIds;
+    private final List<Course> coursesByPopularity;
+    private final ZipfSampler popularity;
+    private final int[] weights;
+    private final int totalWeight;
+
+    LoadDriver(String[] studentIds, List<Course> coursesByPopularity, double zipfExponent, int[] weights) {
+        this.studentIds = studentIds;
+        this.coursesByPopularity = coursesByPopularity;
+        this.popularity = new ZipfSampler(coursesByPopularity.size(), zipfExponent);
+        this.weights = weights;
+        this.totalWeight = Arrays.stream(weights).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DataGenerator.parseOptions(args);
+        String data = options.get("data");
+        if (data == null || !Files.exists(Paths.get(data, "students.txt"))) {
+            System.err.println("Usage: LoadDriver --data DIR [--threads N] [--seconds N] [--warmup N]"
+                    + " [--mix login=20,register=40,drop=40] [--zipf S] [--seed N]");
+            System.exit(2);
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        System.setProperty("registration.dataDir", data);
+        AsyncService.setHeadless(true);
+        if (!FileManager.initializeDataFiles()) {
+            System.err.println("Could not open " + data);
+            System.exit(1);
+        }
+        CredentialStore.migrate();
+
+        List<String> ids = new ArrayList<>();
+        for (Student student : FileManager.loadStudents()) {
+            if (!student.getStudentId().equals("admin")) {
+                ids.add(student.getStudentId());
+            }
+        }
+        List<Course> courses = new ArrayList<>(CourseCatalogService.loadCatalogWithSeats().getCatalog().getCourses());
+        courses.sort(Comparator.comparingInt((Course course) -> CourseCatalogService.getTakenSeats(course.getCourseCode())).reversed());
+        if (ids.isEmpty() || courses.isEmpty()) {
+            System.err.println(data + " has no students or no courses to load-test with");
+            System.exit(1);
+        }
+
+        LoadDriver driver = new LoadDriver(ids.toArray(new String[0]), courses,
+                Double.parseDouble(options.getOrDefault("zipf", "1.0")),
+                parseMix(options.getOrDefault("mix", "login=20,register=40,drop=40")));
+        System.out.printf("Replaying against %d students, %d courses with %d threads for %d s (+%d s warmup)%n",
+                ids.size(), courses.size(), threads, seconds, warmup);
+        Recorder[] recorders = driver.run(threads, warmup, seconds, seed);
+        report(recorders, seconds);
+
+        FileManager.shutdown();
+        System.exit(0);
+    }
+
+    // "login=20,register=40,drop=40" -> weights indexed by Operation ordinal
+    static int[] parseMix(String mix) {
+        int[] weights = new int[Operation.values().length];
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + part);
+            }
+            weights[Operation.valueOf(pair[0].trim().toUpperCase()).ordinal()] = Integer.parseInt(pair[1].trim());
+        }
+        if (Arrays.stream(weights).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    Recorder[] run(int threads, int warmupSeconds, int seconds, long seed) throws InterruptedException {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        Recorder[] recorders = new Recorder[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Recorder recorder = new Recorder();
+            recorders[t] = recorder;
+            Random random = new Random(seed + t);
+            String terminal = "load-" + t;
+            Thread worker = new Thread(() -> {
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        Operation operation = pickOperation(random);
+                        int outcome = execute(operation, random, terminal);
+                        long finished = System.nanoTime();
+                        if (now >= measureFrom) {
+                            recorder.record(operation, outcome, finished - now);
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, terminal);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        return recorders;
+    }
+
+    private Operation pickOperation(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= weights[operation.ordinal()];
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.LOGIN;
+    }
+
+    private int execute(Operation operation, Random random, String terminal) {
+        String studentId = studentIds[random.nextInt(studentIds.length)];
+        try {
+            switch (operation) {
+                case LOGIN:
+                    return AccountService.login(studentId, BenchmarkData.PASSWORD, terminal).isSuccess() ? OK : REJECTED;
+                case REGISTER:
+                    String courseCode = coursesByPopularity.get(popularity.next(random)).getCourseCode();
+                    return RegistrationService.registerAll(studentId, List.of(courseCode)).isSuccess() ? OK : REJECTED;
+                default:
+                    Student student = FileManager.findStudent(studentId);
+                    if (student == null || student.getRegisteredCourses().isEmpty()) {
+                        return REJECTED;
+                    }
+                    List<String> held = student.getRegisteredCourses();
+                    String dropped = held.get(random.nextInt(held.size()));
+                    return RegistrationService.dropAll(studentId, List.of(dropped)).isSuccess() ? OK : REJECTED;
+            }
+        } catch (RuntimeException e) {
+            return ERROR;
+        }
+    }
+
+    private static void report(Recorder[] recorders, int seconds) {
+        System.out.printf("%n%-10s %10s %10s %10s %8s %12s %10s %10s %10s%n",
+                "operation", "count", "ok", "rejected", "errors", "ops/s", "p50 ms", "p99 ms", "max ms");
+        Stats total = new Stats();
+        for (Operation operation : Operation.values()) {
+            Stats merged = new Stats();
+            for (Recorder recorder : recorders) {
+                merged.addAll(recorder.stats[operation.ordinal()]);
+            }
+            if (merged.count > 0) {
+                printRow(operation.name().toLowerCase(), merged, seconds);
+            }
+            total.addAll(merged);
+        }
+        printRow("total", total, seconds);
+    }
+
+    private static void printRow(String name, Stats stats, int seconds) {
+        long[] latencies = Arrays.copyOf(stats.latencies, stats.count);
+        Arrays.sort(latencies);
+        System.out.printf("%-10s %10d %10d %10d %8d %12.1f %10.2f %10.2f %10.2f%n", name, stats.count,
+                stats.outcomes[OK], stats.outcomes[REJECTED], stats.outcomes[ERROR], (double) stats.count / seconds,
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(percentile(latencies, 1.0)));
+    }
+
+    // Nearest-rank percentile of sorted latencies
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // One per worker thread, so recording never contends; merged after the run
+    static class Recorder {
+        final Stats[] stats = new Stats[Operation.values().length];
+
+        Recorder() {
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] = new Stats();
+            }
+        }
+
+        void record(Operation operation, int outcome, long nanos) {
+            stats[operation.ordinal()].record(outcome, nanos);
+        }
+    }
+
+    static class Stats {
+        private long[] latencies = new long[1024];
+        private final int[] outcomes = new int[3];
+        private int count;
+
+        void record(int outcome, long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            outcomes[outcome]++;
+        }
+
+        void addAll(Stats other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] += other.outcomes[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.Student;
+import com.studentregistration.services.AccountService;
+import com.studentregistration.services.LoginResult;
+import com.studentregistration.utils.StudentRepository;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Login lookups by ID and by email, and a full AccountService.login. The
+ * PBKDF2 cost is lowered in the fork so the login number shows the lookup,
+ * throttle and logging overhead rather than the deliberately slow hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dregistration.password.iterations=1000"})
+public class LoginBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int students;
+
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.prepare(students);
+        random = new Random(13);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.cleanUp();
+    }
+
+    @Benchmark
+    public Student findById() {
+        return StudentRepository.findById(BenchmarkData.studentId(random.nextInt(students)));
+    }
+
+    @Benchmark
+    public Student findByEmail() {
+        return StudentRepository.findByEmail(BenchmarkData.email(random.nextInt(students)));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public LoginResult login() {
+        int index = random.nextInt(Math.min(students, BenchmarkData.LOGIN_SAMPLE));
+        return AccountService.login(BenchmarkData.studentId(index), BenchmarkData.PASSWORD, "bench");
+    }
+}
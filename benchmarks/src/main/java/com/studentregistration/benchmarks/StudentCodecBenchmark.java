@@ -0,0 +1,66 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.FileManager;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and formatting of a single students.txt record, cycling through
+ * a few thousand generated rows so the branch predictor cannot learn one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentCodecBenchmark {
+    private static final int ROWS = 4096;
+
+    private Student[] students;
+    private String[] lines;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.prepare(0);
+        List<Student> generated = BenchmarkData.generateStudents(ROWS, FileManager.loadCourses(), new Random(7));
+        students = generated.toArray(new Student[0]);
+        lines = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            students[i].setVersion(i + 1);
+            lines[i] = students[i].toString();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.cleanUp();
+    }
+
+    @Benchmark
+    public Student fromString() {
+        next = (next + 1) & (ROWS - 1);
+        return Student.fromString(lines[next]);
+    }
+
+    @Benchmark
+    public String toStringRecord() {
+        next = (next + 1) & (ROWS - 1);
+        return students[next].toString();
+    }
+}
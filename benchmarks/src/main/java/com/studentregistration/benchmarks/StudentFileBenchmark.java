@@ -0,0 +1,81 @@
+package com.studentregistration.benchmarks;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.FileManager;
+import com.studentregistration.utils.StudentRepository;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole-roster reads and writes of students.txt, and a single-student
+ * update through the journal, at each roster size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StudentFileBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int students;
+
+    private List<Student> roster;
+    private List<Course> courses;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.prepare(students);
+        roster = FileManager.loadStudents();
+        courses = FileManager.loadCourses();
+        random = new Random(11);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.cleanUp();
+    }
+
+    // Dropping the cache first makes this a full parse of the file, as on startup
+    @Benchmark
+    public List<Student> loadStudents() {
+        StudentRepository.invalidate();
+        return FileManager.loadStudents();
+    }
+
+    @Benchmark
+    public boolean saveStudents() {
+        roster = FileManager.loadStudents();
+        return FileManager.saveStudents(roster);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Student updateStudent() throws IOException {
+        String studentId = BenchmarkData.studentId(random.nextInt(students));
+        String courseCode = courses.get(random.nextInt(courses.size())).getCourseCode();
+        return FileManager.updateStudent(studentId, student -> {
+            if (!student.getRegisteredCourses().remove(courseCode)) {
+                student.addCourse(courseCode);
+            }
+        });
+    }
+}
@@ -4,6 +4,7 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import com.studentregistration.utils.FileManager;
@@ -17,7 +18,15 @@ public class Main extends Application {
         primaryStage = stage;
         
         // Initialize data files
-        FileManager.initializeDataFiles();
+        if (FileManager.initializeDataFiles()) {
+            showAlert(Alert.AlertType.INFORMATION, "System Ready", 
+                     "Data files initialized successfully.\n\n" +
+                     "Students must register to create accounts.\n" +
+                     "Admin login: admin / admin");
+        } else {
+            showAlert(Alert.AlertType.ERROR, "Initialization Error", 
+                     "Failed to initialize data files in the data directory.");
+        }
         
         // Load login scene
         Parent root = FXMLLoader.load(getClass().getResource("/fxml/Login.fxml"));
@@ -30,10 +39,23 @@ public class Main extends Application {
         stage.show();
     }
     
+    @Override
+    public void stop() {
+        FileManager.shutdown();
+    }
+    
     public static Stage getPrimaryStage() {
         return primaryStage;
     }
     
+    private static void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+    
     public static void main(String[] args) {
         launch(args);
     }
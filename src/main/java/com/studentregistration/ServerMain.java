@@ -0,0 +1,30 @@
+package com.studentregistration;
+
+import com.studentregistration.server.ApiServer;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.FileManager;
+
+/**
+ * Headless entry point: serves the registration API over HTTP instead of
+ * opening the JavaFX window. Usage: ServerMain [port] (default 8080).
+ */
+public class ServerMain {
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("registration.server.port", 8080);
+
+        AsyncService.setHeadless(true);
+        if (!FileManager.initializeDataFiles()) {
+            System.err.println("Could not initialize the data directory; not starting the server");
+            System.exit(1);
+        }
+
+        ApiServer server = new ApiServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            FileManager.shutdown();
+        }, "api-shutdown"));
+        server.start();
+        System.out.println("Registration API listening on " + server.getAddress());
+    }
+}
@@ -9,16 +9,16 @@ import javafx.scene.chart.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.stage.Stage;
+import com.studentregistration.models.AnalyticsSnapshot;
 import com.studentregistration.models.Student;
-import com.studentregistration.models.Course;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.EnrollmentStats;
 import com.studentregistration.utils.FileManager;
 import com.studentregistration.utils.SessionManager;
 import com.studentregistration.Main;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class AnalyticsController {
 
@@ -33,72 +33,67 @@ public class AnalyticsController {
 
     @FXML
     private void initialize() {
-        loadAnalytics();
-
-        Student currentStudent = SessionManager.getCurrentStudent();
-        if (currentStudent != null) {
-            FileManager.logActivity(currentStudent.getStudentId(), "Accessed Analytics page");
-            showAlert(Alert.AlertType.INFORMATION, "Analytics Loaded",
-                    "Course analytics have been loaded successfully!");
-        }
+        loadAnalytics(() -> {
+            Student currentStudent = SessionManager.getCurrentStudent();
+            if (currentStudent != null) {
+                FileManager.logActivity(currentStudent.getStudentId(), "Accessed Analytics page");
+                showAlert(Alert.AlertType.INFORMATION, "Analytics Loaded",
+                        "Course analytics have been loaded successfully!");
+            }
+        });
     }
 
-    private void loadAnalytics() {
-        loadStatistics();
-        loadCourseDistributionPieChart();
-        loadCoursePopularityBarChart();
-        saveAnalyticsToFile();
+    /**
+     * Renders from the stored analytics view when it matches the current
+     * data files. Otherwise the charts are drawn from the live enrollment
+     * counters straight away and the full view is rebuilt afterwards on the
+     * I/O thread.
+     */
+    private void loadAnalytics(Runnable onLoaded) {
+        refreshButton.setDisable(true);
+        AsyncService.run(FileManager::loadAnalyticsView, view -> {
+            if (view != null) {
+                showAnalytics(view, onLoaded);
+                return;
+            }
+            AsyncService.run(() -> {
+                EnrollmentStats stats = FileManager.getEnrollmentStats();
+                return AnalyticsSnapshot.fromCounts(stats.getTotalStudents(), stats.getTotalRegistrations(),
+                        stats.getCourseCounts(), FileManager.loadCourses());
+            }, snapshot -> {
+                showAnalytics(snapshot, onLoaded);
+                AsyncService.run(FileManager::refreshAnalyticsView, refreshed -> {});
+            }, this::showLoadFailure);
+        }, this::showLoadFailure);
     }
 
-    private void loadStatistics() {
-        List<Student> allStudents = FileManager.loadStudents();
-        List<Course> allCourses = FileManager.loadCourses();
-
-        // Filter out admin
-        List<Student> students = allStudents.stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .collect(Collectors.toList());
-
-        int totalStudents = students.size();
-        int totalCourses = allCourses.size();
-        int totalRegistrations = students.stream()
-                .mapToInt(s -> s.getRegisteredCourses().size())
-                .sum();
-
-        double averageCourses = totalStudents > 0 ? (double) totalRegistrations / totalStudents : 0;
-
-        totalStudentsLabel.setText(String.valueOf(totalStudents));
-        totalCoursesLabel.setText(String.valueOf(totalCourses));
-        totalRegistrationsLabel.setText(String.valueOf(totalRegistrations));
-        averageCoursesLabel.setText(String.format("%.1f", averageCourses));
+    private void showLoadFailure(Throwable error) {
+        refreshButton.setDisable(false);
+        showAlert(Alert.AlertType.ERROR, "Error", "Failed to load analytics: " + error.getMessage());
     }
 
-    private void loadCourseDistributionPieChart() {
-        List<Student> allStudents = FileManager.loadStudents();
-        List<Course> allCourses = FileManager.loadCourses();
-
-        // Filter out admin
-        List<Student> students = allStudents.stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .collect(Collectors.toList());
+    private void showAnalytics(AnalyticsSnapshot snapshot, Runnable onLoaded) {
+        loadStatistics(snapshot);
+        loadCourseDistributionPieChart(snapshot);
+        loadCoursePopularityBarChart(snapshot);
+        refreshButton.setDisable(false);
+        onLoaded.run();
+    }
 
-        // Count students per course
-        Map<String, Long> courseStudentCount = students.stream()
-                .flatMap(student -> student.getRegisteredCourses().stream())
-                .collect(Collectors.groupingBy(courseCode -> courseCode, Collectors.counting()));
+    private void loadStatistics(AnalyticsSnapshot snapshot) {
+        totalStudentsLabel.setText(String.valueOf(snapshot.getTotalStudents()));
+        totalCoursesLabel.setText(String.valueOf(snapshot.getTotalCourses()));
+        totalRegistrationsLabel.setText(String.valueOf(snapshot.getTotalRegistrations()));
+        averageCoursesLabel.setText(String.format("%.1f", snapshot.getAverageCourses()));
+    }
 
+    private void loadCourseDistributionPieChart(AnalyticsSnapshot snapshot) {
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
 
-        for (Map.Entry<String, Long> entry : courseStudentCount.entrySet()) {
+        for (Map.Entry<String, Integer> entry : snapshot.getCourseCounts().entrySet()) {
             String courseCode = entry.getKey();
-            Long studentCount = entry.getValue();
-
-            // Find course name
-            String courseName = allCourses.stream()
-                    .filter(course -> course.getCourseCode().equals(courseCode))
-                    .map(Course::getCourseName)
-                    .findFirst()
-                    .orElse(courseCode);
+            int studentCount = entry.getValue();
+            String courseName = snapshot.getCourseName(courseCode);
 
             // Truncate long names for better display
             String displayName = courseName.length() > 20 ?
@@ -117,32 +112,14 @@ public class AnalyticsController {
         courseDistributionPieChart.setLegendVisible(true);
     }
 
-    private void loadCoursePopularityBarChart() {
-        List<Student> allStudents = FileManager.loadStudents();
-        List<Course> allCourses = FileManager.loadCourses();
-
-        // Filter out admin
-        List<Student> students = allStudents.stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .collect(Collectors.toList());
-
-        // Count students per course
-        Map<String, Long> courseStudentCount = students.stream()
-                .flatMap(student -> student.getRegisteredCourses().stream())
-                .collect(Collectors.groupingBy(courseCode -> courseCode, Collectors.counting()));
-
+    private void loadCoursePopularityBarChart(AnalyticsSnapshot snapshot) {
         XYChart.Series<String, Number> barSeries = new XYChart.Series<>();
         barSeries.setName("Students Enrolled");
 
-        // Sort by popularity (descending) and take top 10
-        courseStudentCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(10)
-                .forEach(entry -> {
-                    String courseCode = entry.getKey();
-                    Long studentCount = entry.getValue();
-                    barSeries.getData().add(new XYChart.Data<>(courseCode, studentCount));
-                });
+        // Sorted by popularity (descending), top 10
+        for (Map.Entry<String, Integer> entry : snapshot.getTopCourses(10)) {
+            barSeries.getData().add(new XYChart.Data<>(entry.getKey(), entry.getValue()));
+        }
 
         // Add message if no data
         if (barSeries.getData().isEmpty()) {
@@ -155,44 +132,20 @@ public class AnalyticsController {
         coursePopularityBarChart.setLegendVisible(false);
     }
 
-    private void saveAnalyticsToFile() {
-        List<Student> allStudents = FileManager.loadStudents();
-        List<Course> allCourses = FileManager.loadCourses();
-
-        // Filter out admin
-        List<Student> students = allStudents.stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .collect(Collectors.toList());
-
-        // Save key statistics
-        FileManager.saveAnalyticsData("STATISTICS", "TOTAL_STUDENTS", String.valueOf(students.size()));
-        FileManager.saveAnalyticsData("STATISTICS", "TOTAL_COURSES", String.valueOf(allCourses.size()));
-        FileManager.saveAnalyticsData("STATISTICS", "TOTAL_REGISTRATIONS",
-                String.valueOf(students.stream().mapToInt(s -> s.getRegisteredCourses().size()).sum()));
-
-        // Save course popularity data
-        Map<String, Long> coursePopularity = students.stream()
-                .flatMap(student -> student.getRegisteredCourses().stream())
-                .collect(Collectors.groupingBy(courseCode -> courseCode, Collectors.counting()));
-
-        coursePopularity.forEach((courseCode, count) ->
-                FileManager.saveAnalyticsData("COURSE_POPULARITY", courseCode, String.valueOf(count)));
-    }
-
     @FXML
     private void handleRefresh() {
         showAlert(Alert.AlertType.INFORMATION, "Refreshing Analytics",
                 "Updating charts and statistics...");
 
-        loadAnalytics();
-
-        Student currentStudent = SessionManager.getCurrentStudent();
-        if (currentStudent != null) {
-            FileManager.logActivity(currentStudent.getStudentId(), "Refreshed Analytics");
-        }
+        loadAnalytics(() -> {
+            Student currentStudent = SessionManager.getCurrentStudent();
+            if (currentStudent != null) {
+                FileManager.logActivity(currentStudent.getStudentId(), "Refreshed Analytics");
+            }
 
-        showAlert(Alert.AlertType.INFORMATION, "Refresh Complete",
-                "Analytics data has been updated!");
+            showAlert(Alert.AlertType.INFORMATION, "Refresh Complete",
+                    "Analytics data has been updated!");
+        });
     }
 
     @FXML
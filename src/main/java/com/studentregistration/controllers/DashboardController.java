@@ -10,13 +10,15 @@ import javafx.animation.Timeline;
 import javafx.animation.KeyFrame;
 import javafx.util.Duration;
 import com.studentregistration.models.Student;
-import com.studentregistration.models.Course;
+import com.studentregistration.services.CourseCatalogService;
+import com.studentregistration.services.RegistrationService;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.EnrollmentStats;
 import com.studentregistration.utils.FileManager;
 import com.studentregistration.utils.SessionManager;
 import com.studentregistration.Main;
 
 import java.io.IOException;
-import java.util.List;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -61,27 +63,21 @@ public class DashboardController {
                                               student.getProgram(), 
                                               student.getSemester()));
         
-        // Calculate total credits
-        List<Course> allCourses = FileManager.loadCourses();
-        int totalCredits = student.getRegisteredCourses().stream()
-                .mapToInt(courseCode -> allCourses.stream()
-                        .filter(course -> course.getCourseCode().equals(courseCode))
-                        .mapToInt(Course::getCredits)
-                        .findFirst()
-                        .orElse(0))
-                .sum();
-        
         myCoursesLabel.setText(student.getRegisteredCourses().size() + " Courses");
-        totalCreditsLabel.setText(totalCredits + " Credits");
+        
+        // Calculate total credits
+        AsyncService.run(() -> CourseCatalogService.totalCredits(student.getRegisteredCourses()), 
+                         totalCredits -> totalCreditsLabel.setText(totalCredits + " Credits"));
     }
     
     private void loadDashboardData() {
-        int totalStudents = FileManager.getTotalStudents();
-        int totalCourses = FileManager.getTotalCourses();
-        int totalRegistrations = FileManager.getTotalRegistrations();
-        
-        systemStatsLabel.setText(String.format("System: %d Students | %d Courses | %d Registrations", 
-                                              totalStudents, totalCourses, totalRegistrations));
+        AsyncService.run(() -> {
+            EnrollmentStats stats = FileManager.getEnrollmentStats();
+            return String.format("System: %d Students | %d Courses | %d Registrations", 
+                                 stats.getTotalStudents(), 
+                                 FileManager.getTotalCourses(), 
+                                 stats.getTotalRegistrations());
+        }, systemStatsLabel::setText);
     }
     
     private void startClock() {
@@ -108,9 +104,9 @@ public class DashboardController {
     private void handleRegisterCourse() {
         Student currentStudent = SessionManager.getCurrentStudent();
         
-        if (currentStudent.getRegisteredCourses().size() >= 8) {
+        if (RegistrationService.remainingSlots(currentStudent) == 0) {
             showAlert(Alert.AlertType.WARNING, "Registration Limit", 
-                     "Maximum 8 courses allowed. Please drop a course first.");
+                     "Maximum " + Student.MAX_COURSES + " courses allowed. Please drop a course first.");
             return;
         }
         
@@ -7,12 +7,14 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import com.studentregistration.models.Student;
+import com.studentregistration.services.AccountService;
+import com.studentregistration.utils.AsyncService;
 import com.studentregistration.utils.FileManager;
+import com.studentregistration.utils.LoginThrottle;
 import com.studentregistration.utils.SessionManager;
 import com.studentregistration.Main;
 
 import java.io.IOException;
-import java.util.List;
 
 public class LoginController {
     
@@ -22,20 +24,20 @@ public class LoginController {
     @FXML private Button registerButton;
     @FXML private Label statusLabel;
     
+    private int studentCount = -1;
+    
     @FXML
     private void initialize() {
         loginButton.setDefaultButton(true);
         
         // Check if there are any registered students
-        List<Student> students = FileManager.loadStudents();
-        long studentCount = students.stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .count();
-        
-        if (studentCount == 0) {
-            statusLabel.setText("No students registered yet. Click Register to create your account.");
-            statusLabel.setStyle("-fx-text-fill: #f39c12;");
-        }
+        AsyncService.run(FileManager::getTotalStudents, count -> {
+            studentCount = count;
+            if (studentCount == 0) {
+                statusLabel.setText("No students registered yet. Click Register to create your account.");
+                statusLabel.setStyle("-fx-text-fill: #f39c12;");
+            }
+        });
     }
     
     @FXML
@@ -51,46 +53,69 @@ public class LoginController {
             return;
         }
         
+        // Locked-out attempts are turned away before any file is touched
+        long lockout = AccountService.getRemainingLockout(username, LoginThrottle.LOCAL_TERMINAL);
+        if (lockout > 0) {
+            showLockout(lockout);
+            return;
+        }
+        
         // Show loading message
         statusLabel.setText("Authenticating...");
         statusLabel.setStyle("-fx-text-fill: #3498db;");
         
         // Authenticate user
-        Student student = authenticateUser(username, password);
-        if (student != null) {
-            SessionManager.setCurrentStudent(student);
-            FileManager.logActivity(username, "Successful login");
-            
-            showAlert(Alert.AlertType.INFORMATION, "Login Successful", 
-                     "Welcome, " + student.getName() + "!\n" +
-                     "Redirecting to dashboard...");
-            
-            loadDashboard();
-        } else {
-            FileManager.logActivity(username, "Failed login attempt");
-            
-            // Check if any students are registered
-            List<Student> students = FileManager.loadStudents();
-            long studentCount = students.stream()
-                    .filter(s -> !s.getStudentId().equals("admin"))
-                    .count();
-            
-            String errorMessage = "Invalid username or password.\n\n";
-            if (studentCount == 0) {
-                errorMessage += "No students are registered yet.\n" +
-                              "Click Register to create your account.\n\n" +
-                              "Admin login: admin / admin";
+        loginButton.setDisable(true);
+        AsyncService.run(() -> AccountService.login(username, password, LoginThrottle.LOCAL_TERMINAL), result -> {
+            loginButton.setDisable(false);
+            if (result.isSuccess()) {
+                Student student = result.getStudent();
+                SessionManager.setCurrentStudent(student);
+                
+                showAlert(Alert.AlertType.INFORMATION, "Login Successful", 
+                         "Welcome, " + student.getName() + "!\n" +
+                         "Redirecting to dashboard...");
+                
+                loadDashboard();
             } else {
-                errorMessage += "Please check your credentials and try again.\n" +
-                              "If you don't have an account, click Register.\n\n" +
-                              "Admin login: admin / admin";
+                if (result.isLockedOut()) {
+                    passwordField.clear();
+                    showLockout(result.getLockoutMillis());
+                    return;
+                }
+                
+                String errorMessage = "Invalid username or password.\n\n";
+                // Check if any students are registered
+                if (studentCount == 0) {
+                    errorMessage += "No students are registered yet.\n" +
+                                  "Click Register to create your account.\n\n" +
+                                  "Admin login: admin / admin";
+                } else {
+                    errorMessage += "Please check your credentials and try again.\n" +
+                                  "If you don't have an account, click Register.\n\n" +
+                                  "Admin login: admin / admin";
+                }
+                
+                showAlert(Alert.AlertType.ERROR, "Login Failed", errorMessage);
+                passwordField.clear();
+                statusLabel.setText("Login failed. Register if you don't have an account.");
+                statusLabel.setStyle("-fx-text-fill: #e74c3c;");
             }
-            
-            showAlert(Alert.AlertType.ERROR, "Login Failed", errorMessage);
-            passwordField.clear();
-            statusLabel.setText("Login failed. Register if you don't have an account.");
+        }, error -> {
+            loginButton.setDisable(false);
+            statusLabel.setText("Login could not be completed. Please try again.");
             statusLabel.setStyle("-fx-text-fill: #e74c3c;");
-        }
+            showAlert(Alert.AlertType.ERROR, "Login Failed", "Login could not be completed: " + error.getMessage());
+        });
+    }
+    
+    private void showLockout(long lockoutMillis) {
+        long seconds = Math.max(1, (lockoutMillis + 999) / 1000);
+        statusLabel.setText("Too many failed attempts. Try again in " + seconds + " seconds.");
+        statusLabel.setStyle("-fx-text-fill: #e74c3c;");
+        showAlert(Alert.AlertType.WARNING, "Too Many Attempts", 
+                 "Too many failed login attempts.\n\n" +
+                 "Please wait " + seconds + " seconds before trying again.");
     }
     
     @FXML
@@ -109,14 +134,6 @@ public class LoginController {
         }
     }
     
-    private Student authenticateUser(String username, String password) {
-        List<Student> students = FileManager.loadStudents();
-        return students.stream()
-                .filter(s -> s.getStudentId().equals(username) && s.getPassword().equals(password))
-                .findFirst()
-                .orElse(null);
-    }
-    
     private void loadDashboard() {
         try {
             Parent root = FXMLLoader.load(getClass().getResource("/fxml/Dashboard.fxml"));
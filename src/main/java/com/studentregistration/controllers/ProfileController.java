@@ -7,7 +7,8 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import com.studentregistration.models.Student;
-import com.studentregistration.utils.FileManager;
+import com.studentregistration.services.AccountService;
+import com.studentregistration.utils.AsyncService;
 import com.studentregistration.utils.SessionManager;
 import com.studentregistration.Main;
 
@@ -50,17 +51,27 @@ public class ProfileController {
     private void handleSave() {
         if (validateInput()) {
             Student currentStudent = SessionManager.getCurrentStudent();
+            String name = nameField.getText().trim();
+            String email = emailField.getText().trim();
+            String program = programComboBox.getValue();
+            String semester = semesterComboBox.getValue();
             
-            // Update student information
-            currentStudent.setName(nameField.getText().trim());
-            currentStudent.setEmail(emailField.getText().trim());
-            currentStudent.setProgram(programComboBox.getValue());
-            currentStudent.setSemester(semesterComboBox.getValue());
-            
-            // Save to file
-            FileManager.updateStudent(currentStudent);
-            
-            showAlert(Alert.AlertType.INFORMATION, "Success", "Profile updated successfully!");
+            // Save to file; the edits are applied to the latest saved record so
+            // courses registered from another terminal are kept
+            saveButton.setDisable(true);
+            AsyncService.run(() -> AccountService.updateProfile(currentStudent.getStudentId(), name, email, program, semester), result -> {
+                saveButton.setDisable(false);
+                if (result.isSuccess()) {
+                    SessionManager.setCurrentStudent(result.getValue());
+                    showAlert(Alert.AlertType.INFORMATION, "Success", "Profile updated successfully!");
+                } else {
+                    showAlert(Alert.AlertType.WARNING, "Validation Error", result.getMessage());
+                    emailField.requestFocus();
+                }
+            }, error -> {
+                saveButton.setDisable(false);
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to save your profile: " + error.getMessage());
+            });
         }
     }
     
@@ -75,7 +86,7 @@ public class ProfileController {
             return false;
         }
         
-        if (!emailField.getText().contains("@")) {
+        if (!AccountService.isValidEmail(emailField.getText().trim())) {
             showAlert(Alert.AlertType.WARNING, "Validation Error", "Please enter a valid email address.");
             return false;
         }
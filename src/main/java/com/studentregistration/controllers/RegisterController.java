@@ -7,12 +7,12 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import com.studentregistration.models.Student;
+import com.studentregistration.services.AccountService;
+import com.studentregistration.utils.AsyncService;
 import com.studentregistration.utils.FileManager;
 import com.studentregistration.Main;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Random;
 
 public class RegisterController {
     
@@ -24,11 +24,8 @@ public class RegisterController {
     @FXML private PasswordField confirmPasswordField;
     @FXML private Button registerButton;
     @FXML private Button backToLoginButton;
-    @FXML private Label studentIdLabel;
     @FXML private Label registrationCountLabel;
     
-    private String generatedStudentId;
-    
     @FXML
     private void initialize() {
         // Initialize ComboBoxes
@@ -42,91 +39,66 @@ public class RegisterController {
             "Fall 2024", "Spring 2025", "Summer 2024", "Fall 2023", "Spring 2024"
         );
         
-        // Generate and display student ID
-        generateStudentId();
-        
         // Show current registration count
         updateRegistrationCount();
         
         registerButton.setDefaultButton(true);
     }
     
-    private void generateStudentId() {
-        List<Student> existingStudents = FileManager.loadStudents();
-        Random random = new Random();
-        String studentId;
-        
-        // Generate unique student ID
-        do {
-            int idNumber = random.nextInt(9000) + 1000; // Generate 4-digit number (1000-9999)
-            studentId = "STU" + idNumber;
-        } while (studentIdExists(existingStudents, studentId));
-        
-        generatedStudentId = studentId;
-        studentIdLabel.setText("Your Student ID will be: " + generatedStudentId);
-    }
-    
     private void updateRegistrationCount() {
-        List<Student> students = FileManager.loadStudents();
-        long studentCount = students.stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .count();
-        
-        if (studentCount == 0) {
-            registrationCountLabel.setText("You will be the first student to register!");
-            registrationCountLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
-        } else {
-            registrationCountLabel.setText("Current registered students: " + studentCount);
-            registrationCountLabel.setStyle("-fx-text-fill: #3498db;");
-        }
-    }
-    
-    private boolean studentIdExists(List<Student> students, String studentId) {
-        return students.stream().anyMatch(s -> s.getStudentId().equals(studentId));
+        AsyncService.run(FileManager::getTotalStudents, studentCount -> {
+            if (studentCount == 0) {
+                registrationCountLabel.setText("You will be the first student to register!");
+                registrationCountLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
+            } else {
+                registrationCountLabel.setText("Current registered students: " + studentCount);
+                registrationCountLabel.setStyle("-fx-text-fill: #3498db;");
+            }
+        });
     }
     
     @FXML
     private void handleRegister() {
         if (validateInput()) {
-            // Create new student
-            Student newStudent = new Student(
-                generatedStudentId,
-                nameField.getText().trim(),
-                emailField.getText().trim(),
-                programComboBox.getValue(),
-                semesterComboBox.getValue(),
-                passwordField.getText()
-            );
-            
-            // Add to existing students list
-            List<Student> students = FileManager.loadStudents();
-            students.add(newStudent);
+            String name = nameField.getText().trim();
+            String email = emailField.getText().trim();
+            String program = programComboBox.getValue();
+            String semester = semesterComboBox.getValue();
+            String password = passwordField.getText();
             
-            // Save to file
-            FileManager.saveStudents(students);
-            
-            // Log the registration
-            FileManager.logActivity(generatedStudentId, "New student registered");
-            FileManager.logRegistration(generatedStudentId, "STUDENT_REGISTERED", "N/A", 
-                    "New student account created: " + newStudent.getName());
-            
-            showAlert(Alert.AlertType.INFORMATION, "Registration Successful", 
-                     "Welcome to the Student Course Registration System!\n\n" +
-                     "Your account has been created successfully.\n\n" +
-                     "Account Details:\n" +
-                     "Student ID: " + generatedStudentId + "\n" +
-                     "Name: " + newStudent.getName() + "\n" +
-                     "Email: " + newStudent.getEmail() + "\n" +
-                     "Program: " + newStudent.getProgram() + "\n" +
-                     "Semester: " + newStudent.getSemester() + "\n\n" +
-                     "You can now login with your Student ID and password.\n" +
-                     "Your account has been saved to the system.");
-            
-            // Return to login page
-            handleBackToLogin();
+            registerButton.setDisable(true);
+            AsyncService.run(() -> AccountService.createAccount(name, email, program, semester, password), result -> {
+                registerButton.setDisable(false);
+                if (result.isSuccess()) {
+                    showRegistrationSuccess(result.getValue());
+                } else {
+                    showAlert(Alert.AlertType.WARNING, "Validation Error", result.getMessage());
+                    emailField.requestFocus();
+                }
+            }, error -> {
+                registerButton.setDisable(false);
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to create the account: " + error.getMessage());
+            });
         }
     }
     
+    private void showRegistrationSuccess(Student newStudent) {
+        showAlert(Alert.AlertType.INFORMATION, "Registration Successful", 
+                 "Welcome to the Student Course Registration System!\n\n" +
+                 "Your account has been created successfully.\n\n" +
+                 "Account Details:\n" +
+                 "Student ID: " + newStudent.getStudentId() + "\n" +
+                 "Name: " + newStudent.getName() + "\n" +
+                 "Email: " + newStudent.getEmail() + "\n" +
+                 "Program: " + newStudent.getProgram() + "\n" +
+                 "Semester: " + newStudent.getSemester() + "\n\n" +
+                 "You can now login with your Student ID and password.\n" +
+                 "Your account has been saved to the system.");
+        
+        // Return to login page
+        handleBackToLogin();
+    }
+    
     private boolean validateInput() {
         // Check if all fields are filled
         if (nameField.getText().trim().isEmpty()) {
@@ -143,22 +115,13 @@ public class RegisterController {
         
         // Validate email format
         String email = emailField.getText().trim();
-        if (!email.contains("@") || !email.contains(".")) {
+        if (!AccountService.isValidEmail(email)) {
             showAlert(Alert.AlertType.WARNING, "Validation Error", 
                      "Please enter a valid email address (e.g., john@example.com).");
             emailField.requestFocus();
             return false;
         }
         
-        // Check if email already exists
-        List<Student> existingStudents = FileManager.loadStudents();
-        if (existingStudents.stream().anyMatch(s -> s.getEmail().equalsIgnoreCase(email))) {
-            showAlert(Alert.AlertType.WARNING, "Validation Error", 
-                     "This email address is already registered. Please use a different email.");
-            emailField.requestFocus();
-            return false;
-        }
-        
         if (programComboBox.getValue() == null) {
             showAlert(Alert.AlertType.WARNING, "Validation Error", "Please select your program.");
             programComboBox.requestFocus();
@@ -177,9 +140,9 @@ public class RegisterController {
             return false;
         }
         
-        if (passwordField.getText().length() < 6) {
+        if (passwordField.getText().length() < AccountService.MIN_PASSWORD_LENGTH) {
             showAlert(Alert.AlertType.WARNING, "Validation Error", 
-                     "Password must be at least 6 characters long.");
+                     "Password must be at least " + AccountService.MIN_PASSWORD_LENGTH + " characters long.");
             passwordField.requestFocus();
             return false;
         }
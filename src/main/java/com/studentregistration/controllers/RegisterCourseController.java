@@ -1,5 +1,7 @@
 package com.studentregistration.controllers;
 
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -9,11 +11,17 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import com.studentregistration.models.Student;
 import com.studentregistration.models.Course;
-import com.studentregistration.utils.FileManager;
+import com.studentregistration.models.CourseCatalog;
+import com.studentregistration.services.CatalogSeats;
+import com.studentregistration.services.CourseCatalogService;
+import com.studentregistration.services.RegistrationService;
+import com.studentregistration.utils.AsyncService;
 import com.studentregistration.utils.SessionManager;
 import com.studentregistration.Main;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,9 +33,17 @@ public class RegisterCourseController {
     @FXML private TableColumn<Course, String> instructorColumn;
     @FXML private TableColumn<Course, Integer> creditsColumn;
     @FXML private TableColumn<Course, String> scheduleColumn;
+    @FXML private TableColumn<Course, String> seatsColumn;
     @FXML private Button registerButton;
     @FXML private Button backButton;
     @FXML private Label statusLabel;
+    @FXML private CheckBox hideConflictsCheckBox;
+    
+    private static final String CONFLICT_STYLE_CLASS = "conflict-row";
+    
+    private CourseCatalog catalog = new CourseCatalog("", List.of());
+    private CatalogSeats seats = CatalogSeats.empty();
+    private BitSet conflictingCourses = new BitSet();
     
     @FXML
     private void initialize() {
@@ -37,120 +53,177 @@ public class RegisterCourseController {
         instructorColumn.setCellValueFactory(new PropertyValueFactory<>("instructor"));
         creditsColumn.setCellValueFactory(new PropertyValueFactory<>("credits"));
         scheduleColumn.setCellValueFactory(new PropertyValueFactory<>("schedule"));
+        seatsColumn.setCellValueFactory(cell -> new SimpleStringProperty(describeSeats(cell.getValue())));
+        
+        // Flag courses that clash with the student's timetable before they are picked
+        availableCoursesTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(Course course, boolean empty) {
+                super.updateItem(course, empty);
+                getStyleClass().remove(CONFLICT_STYLE_CLASS);
+                if (!empty && course != null && isConflicting(course)) {
+                    getStyleClass().add(CONFLICT_STYLE_CLASS);
+                }
+            }
+        });
+        
+        hideConflictsCheckBox.selectedProperty().addListener((obs, wasSelected, isSelected) -> showAvailableCourses());
         
         loadAvailableCourses();
         
-        // Enable register button only when a course is selected
+        // The selection is the cart; Register is enabled while it has courses
+        availableCoursesTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         registerButton.setDisable(true);
-        availableCoursesTable.getSelectionModel().selectedItemProperty().addListener(
-            (obs, oldSelection, newSelection) -> registerButton.setDisable(newSelection == null)
+        availableCoursesTable.getSelectionModel().getSelectedItems().addListener(
+            (ListChangeListener<Course>) change -> updateCart()
         );
     }
     
     private void loadAvailableCourses() {
-        List<Course> allCourses = FileManager.loadCourses();
+        // Seats are counted here rather than while the table renders
+        AsyncService.run(CourseCatalogService::loadCatalogWithSeats, loaded -> {
+            seats = loaded;
+            catalog = loaded.getCatalog();
+            showAvailableCourses();
+        });
+    }
+    
+    private void showAvailableCourses() {
         Student currentStudent = SessionManager.getCurrentStudent();
+        conflictingCourses = CourseCatalogService.findConflicting(catalog, currentStudent);
         
         // Filter out already registered courses
-        List<Course> availableCourses = allCourses.stream()
-                .filter(course -> !currentStudent.getRegisteredCourses().contains(course.getCourseCode()))
-                .collect(Collectors.toList());
+        List<Course> availableCourses = CourseCatalogService.getAvailableCourses(catalog, currentStudent);
+        long conflicting = availableCourses.stream().filter(this::isConflicting).count();
+        if (hideConflictsCheckBox.isSelected()) {
+            availableCourses.removeIf(this::isConflicting);
+        }
         
         availableCoursesTable.getItems().clear();
         availableCoursesTable.getItems().addAll(availableCourses);
         
         statusLabel.setText("Available Courses: " + availableCourses.size() + 
-                           " | Already Registered: " + currentStudent.getRegisteredCourses().size());
+                           " | Already Registered: " + currentStudent.getRegisteredCourses().size() +
+                           (conflicting > 0 ? " | Schedule Conflicts: " + conflicting : ""));
     }
     
-    @FXML
-    private void handleRegister() {
-        Course selectedCourse = availableCoursesTable.getSelectionModel().getSelectedItem();
-        if (selectedCourse == null) {
-            showAlert(Alert.AlertType.WARNING, "No Course Selected", 
-                 "Please select a course from the table to register.\n\n" +
-                 "💡 Tip: Click on a course row to select it, then click Register.");
-        return;
+    private void updateCart() {
+        List<Course> cart = availableCoursesTable.getSelectionModel().getSelectedItems();
+        registerButton.setDisable(cart.isEmpty());
+        registerButton.setText(cart.size() > 1 ? "Register (" + cart.size() + ")" : "Register");
     }
     
-    Student currentStudent = SessionManager.getCurrentStudent();
-    
-    // Check if student already has maximum courses
-    if (currentStudent.getRegisteredCourses().size() >= 8) {
-        showAlert(Alert.AlertType.WARNING, "Registration Limit Reached", 
-                 "You have reached the maximum number of courses (8) for this semester.\n\n" +
-                 "Current registered courses: " + currentStudent.getRegisteredCourses().size() + "/8\n\n" +
-                 "Please drop a course before registering for a new one.");
-        return;
+    private String describeSeats(Course course) {
+        int available = seats.getAvailableSeats(course);
+        if (available < 0) {
+            return "Open";
+        }
+        return available == 0 ? "Full" : available + "/" + course.getMaxSeats();
     }
     
-    // Check for time conflicts (basic check)
-    List<Course> allCourses = FileManager.loadCourses();
-    List<Course> registeredCourses = allCourses.stream()
-            .filter(course -> currentStudent.getRegisteredCourses().contains(course.getCourseCode()))
-            .collect(Collectors.toList());
-    
-    boolean hasConflict = registeredCourses.stream()
-            .anyMatch(course -> course.getSchedule().equals(selectedCourse.getSchedule()));
-    
-    if (hasConflict) {
-        showAlert(Alert.AlertType.WARNING, "Schedule Conflict", 
-                 "The selected course conflicts with your current schedule.\n\n" +
-                 "Course: " + selectedCourse.getCourseCode() + " - " + selectedCourse.getCourseName() + "\n" +
-                 "Schedule: " + selectedCourse.getSchedule() + "\n\n" +
-                 "Please choose a different course or drop the conflicting course first.");
-        return;
+    private boolean isConflicting(Course course) {
+        int index = catalog.indexOf(course.getCourseCode());
+        return index >= 0 && conflictingCourses.get(index);
     }
     
-    Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
-    confirmAlert.setTitle("Confirm Course Registration");
-    confirmAlert.setHeaderText("Register for Course");
-    confirmAlert.setContentText(String.format(
-        "Course Details:\n" +
-        "📚 Code: %s\n" +
-        "📖 Name: %s\n" +
-        "👨‍🏫 Instructor: %s\n" +
-        "🎓 Credits: %d\n" +
-        "🕐 Schedule: %s\n\n" +
-        "Are you sure you want to register for this course?",
-        selectedCourse.getCourseCode(),
-        selectedCourse.getCourseName(),
-        selectedCourse.getInstructor(),
-        selectedCourse.getCredits(),
-        selectedCourse.getSchedule()
-    ));
-    
-    ButtonType registerButton = new ButtonType("Register", ButtonBar.ButtonData.OK_DONE);
-    ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
-    confirmAlert.getButtonTypes().setAll(registerButton, cancelButton);
-    
-    if (confirmAlert.showAndWait().get() == registerButton) {
-        // Register for the course
-        currentStudent.addCourse(selectedCourse.getCourseCode());
-        FileManager.updateStudent(currentStudent);
+    @FXML
+    private void handleRegister() {
+        List<Course> cart = new ArrayList<>(availableCoursesTable.getSelectionModel().getSelectedItems());
+        if (cart.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No Course Selected", 
+                     "Please select one or more courses from the table to register.\n\n" +
+                     "💡 Tip: Hold Ctrl or Shift to select several courses, then click Register.");
+            return;
+        }
         
-        // Log the registration
-        FileManager.logRegistration(currentStudent.getStudentId(), "REGISTER", 
-                                   selectedCourse.getCourseCode(), 
-                                   selectedCourse.getCourseName());
+        Student currentStudent = SessionManager.getCurrentStudent();
         
-        // Refresh the table
-        loadAvailableCourses();
+        // Check if student already has maximum courses
+        if (cart.size() > RegistrationService.remainingSlots(currentStudent)) {
+            showAlert(Alert.AlertType.WARNING, "Registration Limit Reached", 
+                     "You can register for at most " + Student.MAX_COURSES + " courses this semester.\n\n" +
+                     "Current registered courses: " + currentStudent.getRegisteredCourses().size() + "/" + Student.MAX_COURSES + "\n" +
+                     "Courses in your cart: " + cart.size() + "\n\n" +
+                     "Please remove courses from your selection or drop a course first.");
+            return;
+        }
+        
+        StringBuilder details = new StringBuilder();
+        int credits = 0;
+        for (Course course : cart) {
+            details.append(String.format("📚 %s - %s\n    👨‍🏫 %s | 🎓 %d credits | 🕐 %s\n", 
+                                         course.getCourseCode(), course.getCourseName(), course.getInstructor(), 
+                                         course.getCredits(), course.getSchedule()));
+            credits += course.getCredits();
+        }
+        
+        Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmAlert.setTitle("Confirm Course Registration");
+        confirmAlert.setHeaderText(cart.size() == 1 ? "Register for Course" : "Register for " + cart.size() + " Courses");
+        confirmAlert.setContentText(details + "\nTotal credits: " + credits + "\n\n" +
+                                    "Are you sure you want to register?");
+        
+        ButtonType registerButton = new ButtonType("Register", ButtonBar.ButtonData.OK_DONE);
+        ButtonType cancelButton = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
+        confirmAlert.getButtonTypes().setAll(registerButton, cancelButton);
         
-        showAlert(Alert.AlertType.INFORMATION, "Registration Successful! 🎉", 
-                 String.format("Successfully registered for:\n\n" +
-                              "📚 %s - %s\n" +
-                              "👨‍🏫 Instructor: %s\n" +
-                              "🎓 Credits: %d\n\n" +
-                              "Total registered courses: %d/8\n" +
-                              "You can view all your courses from the dashboard.",
-                              selectedCourse.getCourseCode(),
-                              selectedCourse.getCourseName(),
-                              selectedCourse.getInstructor(),
-                              selectedCourse.getCredits(),
-                              currentStudent.getRegisteredCourses().size()));
+        if (confirmAlert.showAndWait().orElse(cancelButton) != registerButton) {
+            return;
+        }
+        
+        List<String> courseCodes = cart.stream().map(Course::getCourseCode).collect(Collectors.toList());
+        this.registerButton.setDisable(true);
+        AsyncService.run(() -> RegistrationService.registerAll(currentStudent.getStudentId(), courseCodes), result -> {
+            this.registerButton.setDisable(false);
+            // Seats changed either way: ours were taken, or the cart was turned away by full courses
+            loadAvailableCourses();
+            if (!result.isSuccess()) {
+                if (result.isFailed()) {
+                    showAlert(Alert.AlertType.ERROR, "Registration Failed", result.getError());
+                } else if (cart.size() == 1 && !result.getFullCourses().isEmpty()) {
+                    offerWaitlist(currentStudent, cart.get(0));
+                } else {
+                    showAlert(Alert.AlertType.WARNING, "Registration Not Completed", 
+                             "None of the selected courses were registered:\n\n" + 
+                             result.describeRejections());
+                }
+                return;
+            }
+            SessionManager.setCurrentStudent(result.getStudent());
+            
+            showAlert(Alert.AlertType.INFORMATION, "Registration Successful! 🎉", 
+                     "Successfully registered for:\n\n" + details + "\n" +
+                     "Total registered courses: " + result.getStudent().getRegisteredCourses().size() + "/" + Student.MAX_COURSES + "\n" +
+                     "You can view all your courses from the dashboard.");
+        }, error -> {
+            this.registerButton.setDisable(false);
+            showAlert(Alert.AlertType.ERROR, "Registration Failed", "Registration could not be completed: " + error.getMessage());
+        });
+    }
+    
+    private void offerWaitlist(Student currentStudent, Course course) {
+        Alert waitlistAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        waitlistAlert.setTitle("Course Full");
+        waitlistAlert.setHeaderText(course.getCourseCode() + " - " + course.getCourseName() + " is full");
+        waitlistAlert.setContentText("All " + course.getMaxSeats() + " seats are taken.\n\n" +
+                                    "Join the waitlist? You will be enrolled automatically when a seat " +
+                                    "frees up, as long as it fits your schedule.");
+        
+        ButtonType joinButton = new ButtonType("Join Waitlist", ButtonBar.ButtonData.OK_DONE);
+        waitlistAlert.getButtonTypes().setAll(joinButton, ButtonType.CANCEL);
+        if (waitlistAlert.showAndWait().orElse(ButtonType.CANCEL) != joinButton) {
+            return;
+        }
+        
+        AsyncService.run(() -> RegistrationService.joinWaitlist(course.getCourseCode(), currentStudent.getStudentId()), result -> {
+            if (result.isSuccess()) {
+                showAlert(Alert.AlertType.INFORMATION, "Added to Waitlist", 
+                         "You are number " + result.getValue() + " on the waitlist for " + course.getCourseCode() + ".");
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Waitlist Error", result.getMessage());
+            }
+        });
     }
-}
     
     @FXML
     private void handleBack() {
@@ -1,5 +1,6 @@
 package com.studentregistration.controllers;
 
+import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -9,11 +10,14 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import com.studentregistration.models.Student;
 import com.studentregistration.models.Course;
-import com.studentregistration.utils.FileManager;
+import com.studentregistration.services.CourseCatalogService;
+import com.studentregistration.services.RegistrationService;
+import com.studentregistration.utils.AsyncService;
 import com.studentregistration.utils.SessionManager;
 import com.studentregistration.Main;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -41,22 +45,20 @@ public class ViewCoursesController {
         
         loadRegisteredCourses();
         
-        // Enable drop button only when a course is selected
+        // Enable drop button only when courses are selected; several can be dropped at once
+        registeredCoursesTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         dropButton.setDisable(true);
-        registeredCoursesTable.getSelectionModel().selectedItemProperty().addListener(
-            (obs, oldSelection, newSelection) -> dropButton.setDisable(newSelection == null)
+        registeredCoursesTable.getSelectionModel().getSelectedItems().addListener(
+            (ListChangeListener<Course>) change -> dropButton.setDisable(registeredCoursesTable.getSelectionModel().getSelectedItems().isEmpty())
         );
     }
     
     private void loadRegisteredCourses() {
         Student currentStudent = SessionManager.getCurrentStudent();
-        List<Course> allCourses = FileManager.loadCourses();
-        
-        // Get registered courses
-        List<Course> registeredCourses = allCourses.stream()
-                .filter(course -> currentStudent.getRegisteredCourses().contains(course.getCourseCode()))
-                .collect(Collectors.toList());
-        
+        AsyncService.run(() -> CourseCatalogService.getRegisteredCourses(currentStudent), this::showRegisteredCourses);
+    }
+    
+    private void showRegisteredCourses(List<Course> registeredCourses) {
         registeredCoursesTable.getItems().clear();
         registeredCoursesTable.getItems().addAll(registeredCourses);
         
@@ -71,31 +73,45 @@ public class ViewCoursesController {
     
     @FXML
     private void handleDrop() {
-        Course selectedCourse = registeredCoursesTable.getSelectionModel().getSelectedItem();
-        if (selectedCourse == null) {
-            showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a course to drop.");
+        List<Course> selectedCourses = new ArrayList<>(registeredCoursesTable.getSelectionModel().getSelectedItems());
+        if (selectedCourses.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No Selection", "Please select one or more courses to drop.");
             return;
         }
         
+        String courseList = selectedCourses.stream()
+                .map(course -> course.getCourseCode() + " - " + course.getCourseName())
+                .collect(Collectors.joining("\n"));
+        
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirm Drop");
-        confirmAlert.setHeaderText("Drop Course");
-        confirmAlert.setContentText("Are you sure you want to drop:\n" + 
-                                   selectedCourse.getCourseCode() + " - " + selectedCourse.getCourseName() + 
+        confirmAlert.setHeaderText(selectedCourses.size() == 1 ? "Drop Course" : "Drop " + selectedCourses.size() + " Courses");
+        confirmAlert.setContentText("Are you sure you want to drop:\n" + courseList + 
                                    "\n\nThis action cannot be undone.");
         
         if (confirmAlert.showAndWait().get() == ButtonType.OK) {
             Student currentStudent = SessionManager.getCurrentStudent();
+            List<String> courseCodes = selectedCourses.stream().map(Course::getCourseCode).collect(Collectors.toList());
             
-            // Drop the course
-            currentStudent.removeCourse(selectedCourse.getCourseCode());
-            FileManager.updateStudent(currentStudent);
-            
-            // Refresh the table
-            loadRegisteredCourses();
-            
-            showAlert(Alert.AlertType.INFORMATION, "Success", 
-                     "Successfully dropped " + selectedCourse.getCourseCode() + " - " + selectedCourse.getCourseName());
+            dropButton.setDisable(true);
+            AsyncService.run(() -> RegistrationService.dropAll(currentStudent.getStudentId(), courseCodes), result -> {
+                if (!result.isSuccess()) {
+                    dropButton.setDisable(false);
+                    showAlert(Alert.AlertType.ERROR, "Drop Failed", result.isFailed() ? result.getError()
+                             : "No courses were dropped:\n\n" + result.describeRejections());
+                    return;
+                }
+                SessionManager.setCurrentStudent(result.getStudent());
+                
+                // Refresh the table
+                loadRegisteredCourses();
+                
+                showAlert(Alert.AlertType.INFORMATION, "Success", 
+                         "Successfully dropped:\n" + courseList);
+            }, error -> {
+                dropButton.setDisable(false);
+                showAlert(Alert.AlertType.ERROR, "Drop Failed", "Drop could not be completed: " + error.getMessage());
+            });
         }
     }
     
@@ -0,0 +1,146 @@
+package com.studentregistration.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Everything the analytics screen shows, computed in one pass over the
+ * roster. Charts and the persisted analytics all render from this instead
+ * of reloading and regrouping the data files themselves.
+ */
+public class AnalyticsSnapshot {
+    private int totalStudents;
+    private int totalCourses;
+    private int totalRegistrations;
+    private final Map<String, Integer> courseCounts = new LinkedHashMap<>();
+    private final Map<String, Integer> programCounts = new LinkedHashMap<>();
+    // Total registered credits -> number of students carrying that load
+    private final Map<Integer, Integer> creditDistribution = new TreeMap<>();
+    private final Map<String, String> courseNames = new HashMap<>();
+
+    public static AnalyticsSnapshot compute(List<Student> students, List<Course> courses) {
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        Map<String, Integer> courseCredits = new HashMap<>();
+        for (Course course : courses) {
+            snapshot.courseNames.put(course.getCourseCode(), course.getCourseName());
+            courseCredits.put(course.getCourseCode(), course.getCredits());
+        }
+        snapshot.totalCourses = courses.size();
+
+        for (Student student : students) {
+            // Filter out admin
+            if (student.getStudentId().equals("admin")) {
+                continue;
+            }
+            snapshot.totalStudents++;
+            snapshot.programCounts.merge(student.getProgram(), 1, Integer::sum);
+
+            int credits = 0;
+            for (String courseCode : student.getRegisteredCourses()) {
+                snapshot.courseCounts.merge(courseCode, 1, Integer::sum);
+                credits += courseCredits.getOrDefault(courseCode, 0);
+            }
+            snapshot.totalRegistrations += student.getRegisteredCourses().size();
+            snapshot.creditDistribution.merge(credits, 1, Integer::sum);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Builds the chart-level figures from counters that are already
+     * maintained elsewhere, without touching the roster. Program and credit
+     * distributions are left empty.
+     */
+    public static AnalyticsSnapshot fromCounts(int totalStudents, int totalRegistrations,
+                                               Map<String, Integer> courseCounts, List<Course> courses) {
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        for (Course course : courses) {
+            snapshot.courseNames.put(course.getCourseCode(), course.getCourseName());
+        }
+        snapshot.totalCourses = courses.size();
+        snapshot.totalStudents = totalStudents;
+        snapshot.totalRegistrations = totalRegistrations;
+        snapshot.courseCounts.putAll(courseCounts);
+        return snapshot;
+    }
+
+    // One "DataType,Key,Value" record per figure, the row format of analytics_data.txt
+    public List<String> toRecords() {
+        List<String> records = new ArrayList<>();
+        records.add("STATISTICS,TOTAL_STUDENTS," + totalStudents);
+        records.add("STATISTICS,TOTAL_COURSES," + totalCourses);
+        records.add("STATISTICS,TOTAL_REGISTRATIONS," + totalRegistrations);
+        courseCounts.forEach((courseCode, count) -> {
+            records.add("COURSE_POPULARITY," + courseCode + "," + count);
+            records.add("COURSE_NAME," + courseCode + "," + getCourseName(courseCode));
+        });
+        programCounts.forEach((program, count) -> records.add("PROGRAM_DISTRIBUTION," + program + "," + count));
+        creditDistribution.forEach((credits, count) -> records.add("CREDIT_DISTRIBUTION," + credits + "," + count));
+        return records;
+    }
+
+    public static AnalyticsSnapshot fromRecords(List<String> records) {
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        for (String record : records) {
+            String[] parts = record.split(",", 3);
+            if (parts.length != 3) {
+                continue;
+            }
+            String key = parts[1];
+            String value = parts[2];
+            switch (parts[0]) {
+                case "STATISTICS":
+                    if (key.equals("TOTAL_STUDENTS")) snapshot.totalStudents = Integer.parseInt(value);
+                    if (key.equals("TOTAL_COURSES")) snapshot.totalCourses = Integer.parseInt(value);
+                    if (key.equals("TOTAL_REGISTRATIONS")) snapshot.totalRegistrations = Integer.parseInt(value);
+                    break;
+                case "COURSE_POPULARITY":
+                    snapshot.courseCounts.put(key, Integer.parseInt(value));
+                    break;
+                case "COURSE_NAME":
+                    snapshot.courseNames.put(key, value);
+                    break;
+                case "PROGRAM_DISTRIBUTION":
+                    snapshot.programCounts.put(key, Integer.parseInt(value));
+                    break;
+                case "CREDIT_DISTRIBUTION":
+                    snapshot.creditDistribution.put(Integer.parseInt(key), Integer.parseInt(value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return snapshot;
+    }
+
+    public int getTotalStudents() { return totalStudents; }
+
+    public int getTotalCourses() { return totalCourses; }
+
+    public int getTotalRegistrations() { return totalRegistrations; }
+
+    public double getAverageCourses() {
+        return totalStudents > 0 ? (double) totalRegistrations / totalStudents : 0;
+    }
+
+    public Map<String, Integer> getCourseCounts() { return courseCounts; }
+
+    public Map<String, Integer> getProgramCounts() { return programCounts; }
+
+    public Map<Integer, Integer> getCreditDistribution() { return creditDistribution; }
+
+    public String getCourseName(String courseCode) {
+        return courseNames.getOrDefault(courseCode, courseCode);
+    }
+
+    // Course codes by enrollment, most popular first
+    public List<Map.Entry<String, Integer>> getTopCourses(int limit) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(courseCounts.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+}
@@ -6,6 +6,9 @@ public class Course {
     private String instructor;
     private int credits;
     private String schedule;
+    private Schedule parsedSchedule;
+    // 0 means no limit
+    private int maxSeats;
     
     public Course() {}
     
@@ -17,6 +20,11 @@ public class Course {
         this.schedule = schedule;
     }
     
+    public Course(String courseCode, String courseName, String instructor, int credits, String schedule, int maxSeats) {
+        this(courseCode, courseName, instructor, credits, schedule);
+        this.maxSeats = maxSeats;
+    }
+    
     // Getters and Setters
     public String getCourseCode() { return courseCode; }
     public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
@@ -31,11 +39,31 @@ public class Course {
     public void setCredits(int credits) { this.credits = credits; }
     
     public String getSchedule() { return schedule; }
-    public void setSchedule(String schedule) { this.schedule = schedule; }
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+        this.parsedSchedule = null;
+    }
+    
+    // Parsed on first use; null if the schedule text is not in the usual format
+    public Schedule getParsedSchedule() {
+        if (parsedSchedule == null && schedule != null) {
+            parsedSchedule = Schedule.parse(schedule);
+        }
+        return parsedSchedule;
+    }
+    
+    public int getMaxSeats() { return maxSeats; }
+    public void setMaxSeats(int maxSeats) { this.maxSeats = maxSeats; }
+    
+    public boolean hasSeatLimit() {
+        return maxSeats > 0;
+    }
     
     @Override
     public String toString() {
-        return courseCode + "," + courseName + "," + instructor + "," + credits + "," + schedule;
+        String line = courseCode + "," + courseName + "," + instructor + "," + credits + "," + schedule;
+        // Unlimited courses keep the original five-field format
+        return hasSeatLimit() ? line + "," + maxSeats : line;
     }
     
     public static Course fromString(String data) {
@@ -43,6 +71,10 @@ public class Course {
         if (parts.length == 5) {
             return new Course(parts[0], parts[1], parts[2], Integer.parseInt(parts[3]), parts[4]);
         }
+        if (parts.length == 6) {
+            return new Course(parts[0], parts[1], parts[2], Integer.parseInt(parts[3]), parts[4],
+                    Integer.parseInt(parts[5].trim()));
+        }
         return null;
     }
 }
@@ -0,0 +1,104 @@
+package com.studentregistration.models;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of courses.txt with a precomputed conflict matrix.
+ *
+ * Row i of the matrix is a BitSet of every course whose meeting times
+ * overlap course i. The matrix is built once per version of the file, so
+ * finding every course that clashes with a student's schedule is one
+ * BitSet.or per registered course.
+ */
+public class CourseCatalog {
+    private final String version;
+    private final List<Course> courses;
+    private final Map<String, Integer> indexByCode = new HashMap<>();
+    private final BitSet[] conflicts;
+
+    public CourseCatalog(String version, List<Course> courses) {
+        this.version = version;
+        this.courses = Collections.unmodifiableList(new ArrayList<>(courses));
+        for (int i = 0; i < this.courses.size(); i++) {
+            indexByCode.putIfAbsent(this.courses.get(i).getCourseCode(), i);
+        }
+        this.conflicts = buildConflictMatrix(this.courses);
+    }
+
+    public String getVersion() { return version; }
+
+    public List<Course> getCourses() { return courses; }
+
+    public int size() { return courses.size(); }
+
+    public Course findByCode(String courseCode) {
+        Integer index = indexByCode.get(courseCode);
+        return index != null ? courses.get(index) : null;
+    }
+
+    // -1 if the code is not in the catalog
+    public int indexOf(String courseCode) {
+        return indexByCode.getOrDefault(courseCode, -1);
+    }
+
+    public boolean conflicts(int first, int second) {
+        return conflicts[first].get(second);
+    }
+
+    /**
+     * Indexes of every course that clashes with at least one of the given
+     * courses. Codes missing from the catalog are ignored.
+     */
+    public BitSet conflictsWith(Collection<String> courseCodes) {
+        BitSet result = new BitSet(courses.size());
+        for (String courseCode : courseCodes) {
+            int index = indexOf(courseCode);
+            if (index >= 0) {
+                result.or(conflicts[index]);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Course> toMap() {
+        Map<String, Course> coursesByCode = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : indexByCode.entrySet()) {
+            coursesByCode.put(entry.getKey(), courses.get(entry.getValue()));
+        }
+        return coursesByCode;
+    }
+
+    private static BitSet[] buildConflictMatrix(List<Course> courses) {
+        int count = courses.size();
+        BitSet[] matrix = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            matrix[i] = new BitSet(count);
+        }
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (overlaps(courses.get(i), courses.get(j))) {
+                    matrix[i].set(j);
+                    matrix[j].set(i);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private static boolean overlaps(Course first, Course second) {
+        Schedule a = first.getParsedSchedule();
+        Schedule b = second.getParsedSchedule();
+        if (a == null || b == null) {
+            // Same fallback as Timetable: unparsed schedules clash only with identical text
+            return a == null && b == null && Objects.equals(first.getSchedule(), second.getSchedule());
+        }
+        return a.overlaps(b);
+    }
+}
@@ -0,0 +1,57 @@
+package com.studentregistration.models;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * One line of registrations.txt:
+ * Timestamp,StudentID,Action,CourseCode,Details
+ */
+public class RegistrationEvent {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private LocalDateTime timestamp;
+    private String studentId;
+    private String action;
+    private String courseCode;
+    private String details;
+
+    public RegistrationEvent(LocalDateTime timestamp, String studentId, String action, String courseCode, String details) {
+        this.timestamp = timestamp;
+        this.studentId = studentId;
+        this.action = action;
+        this.courseCode = courseCode;
+        this.details = details;
+    }
+
+    // Getters
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    public String getStudentId() { return studentId; }
+
+    public String getAction() { return action; }
+
+    public String getCourseCode() { return courseCode; }
+
+    public String getDetails() { return details; }
+
+    @Override
+    public String toString() {
+        return timestamp.format(TIMESTAMP_FORMAT) + "," + studentId + "," + action + "," + courseCode + "," + details;
+    }
+
+    public static RegistrationEvent fromString(String data) {
+        // Details is free text and may itself contain commas
+        String[] parts = data.split(",", 5);
+        if (parts.length == 5) {
+            try {
+                return new RegistrationEvent(LocalDateTime.parse(parts[0], TIMESTAMP_FORMAT),
+                        parts[1], parts[2], parts[3], parts[4]);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
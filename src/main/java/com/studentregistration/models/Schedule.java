@@ -0,0 +1,134 @@
+package com.studentregistration.models;
+
+/**
+ * A parsed meeting pattern such as "MWF 9:00-10:00" or "TTh 11:00-12:30".
+ *
+ * Days are a bitmask (Monday is bit 0) and times are minutes after
+ * midnight. Course times are written without AM/PM, so hours before 8 are
+ * read as afternoon ("2:00" is 14:00).
+ */
+public class Schedule {
+    public static final int MONDAY = 1;
+    public static final int TUESDAY = 1 << 1;
+    public static final int WEDNESDAY = 1 << 2;
+    public static final int THURSDAY = 1 << 3;
+    public static final int FRIDAY = 1 << 4;
+    public static final int SATURDAY = 1 << 5;
+    public static final int SUNDAY = 1 << 6;
+    public static final int DAY_COUNT = 7;
+
+    private static final int FIRST_MORNING_HOUR = 8;
+
+    private final int dayMask;
+    private final int startMinute;
+    private final int endMinute;
+
+    public Schedule(int dayMask, int startMinute, int endMinute) {
+        this.dayMask = dayMask;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    public int getDayMask() { return dayMask; }
+
+    public int getStartMinute() { return startMinute; }
+
+    public int getEndMinute() { return endMinute; }
+
+    public boolean meetsOn(int dayIndex) {
+        return (dayMask & (1 << dayIndex)) != 0;
+    }
+
+    // Back-to-back classes (one ends at 10:00, the next starts at 10:00) do not overlap
+    public boolean overlaps(Schedule other) {
+        return (dayMask & other.dayMask) != 0
+                && startMinute < other.endMinute
+                && other.startMinute < endMinute;
+    }
+
+    /**
+     * Parses "Days H:MM-H:MM". Returns null if the text does not follow
+     * that pattern, so callers can fall back to comparing the raw text.
+     */
+    public static Schedule parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] parts = text.trim().split("\\s+");
+        if (parts.length != 2) {
+            return null;
+        }
+        String[] times = parts[1].split("-");
+        if (times.length != 2) {
+            return null;
+        }
+
+        int dayMask = parseDays(parts[0]);
+        int start = parseTime(times[0]);
+        int end = parseTime(times[1]);
+        if (dayMask == 0 || start < 0 || end < 0) {
+            return null;
+        }
+        if (end <= start) {
+            // e.g. "11:30-1:00" runs past noon
+            end += 12 * 60;
+        }
+        return end > start ? new Schedule(dayMask, start, end) : null;
+    }
+
+    private static int parseDays(String days) {
+        int mask = 0;
+        for (int i = 0; i < days.length(); i++) {
+            char day = Character.toUpperCase(days.charAt(i));
+            char next = i + 1 < days.length() ? Character.toLowerCase(days.charAt(i + 1)) : ' ';
+            switch (day) {
+                case 'M': mask |= MONDAY; break;
+                case 'W': mask |= WEDNESDAY; break;
+                case 'F': mask |= FRIDAY; break;
+                case 'R': mask |= THURSDAY; break;
+                case 'T':
+                    if (next == 'h') {
+                        mask |= THURSDAY;
+                        i++;
+                    } else {
+                        mask |= TUESDAY;
+                        if (next == 'u') {
+                            i++;
+                        }
+                    }
+                    break;
+                case 'S':
+                    if (next == 'a') {
+                        mask |= SATURDAY;
+                    } else if (next == 'u') {
+                        mask |= SUNDAY;
+                    } else {
+                        return 0;
+                    }
+                    i++;
+                    break;
+                default:
+                    return 0;
+            }
+        }
+        return mask;
+    }
+
+    // Minutes after midnight, or -1 if malformed
+    private static int parseTime(String time) {
+        String[] parts = time.trim().split(":");
+        try {
+            int hour = Integer.parseInt(parts[0]);
+            int minute = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            if (parts.length > 2 || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return -1;
+            }
+            if (hour < FIRST_MORNING_HOUR) {
+                hour += 12;
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Student {
+    public static final int MAX_COURSES = 8;
+    
     private String studentId;
     private String name;
     private String email;
@@ -11,6 +13,8 @@ public class Student {
     private String semester;
     private String password;
     private List<String> registeredCourses;
+    // Bumped on every save; a save based on an older version is rejected
+    private long version;
     
     public Student() {
         this.registeredCourses = new ArrayList<>();
@@ -48,6 +52,9 @@ public class Student {
     public List<String> getRegisteredCourses() { return registeredCourses; }
     public void setRegisteredCourses(List<String> registeredCourses) { this.registeredCourses = registeredCourses; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
     public void addCourse(String courseCode) {
         if (!registeredCourses.contains(courseCode)) {
             registeredCourses.add(courseCode);
@@ -58,9 +65,18 @@ public class Student {
         registeredCourses.remove(courseCode);
     }
     
+    public Student copy() {
+        Student copy = new Student(studentId, name, email, program, semester, password);
+        copy.registeredCourses.addAll(registeredCourses);
+        copy.version = version;
+        return copy;
+    }
+
     @Override
     public String toString() {
-        return studentId + "," + name + "," + email + "," + program + "," + semester + "," + password + "," + String.join(";", registeredCourses);
+        String line = studentId + "," + name + "," + email + "," + program + "," + semester + "," + password + "," + String.join(";", registeredCourses);
+        // Records never saved since versioning was added keep the 7-field format
+        return version > 0 ? line + "," + version : line;
     }
     
     public static Student fromString(String data) {
@@ -75,6 +91,13 @@ public class Student {
                     }
                 }
             }
+            if (parts.length > 7) {
+                try {
+                    student.setVersion(Long.parseLong(parts[7].trim()));
+                } catch (NumberFormatException e) {
+                    // Treat an unreadable version as never saved
+                }
+            }
             return student;
         }
         return null;
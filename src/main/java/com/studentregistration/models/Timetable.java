@@ -0,0 +1,123 @@
+package com.studentregistration.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * One student's weekly timetable, used for conflict checks.
+ *
+ * Each day keeps its busy periods in a TreeMap keyed by start minute.
+ * Overlapping periods are merged into one block, so blocks never overlap
+ * and a conflict check walks back from the end of the course only as far
+ * as the blocks still reach into it.
+ * Courses whose schedule cannot be parsed are compared by their raw text.
+ */
+public class Timetable {
+    private final List<TreeMap<Integer, Block>> days = new ArrayList<>(Schedule.DAY_COUNT);
+    private final Map<String, List<Course>> unparsedBySchedule = new HashMap<>();
+
+    public Timetable() {
+        for (int i = 0; i < Schedule.DAY_COUNT; i++) {
+            days.add(new TreeMap<>());
+        }
+    }
+
+    // Builds the timetable for the given course codes; unknown codes are skipped
+    public static Timetable of(Collection<String> courseCodes, Map<String, Course> coursesByCode) {
+        Timetable timetable = new Timetable();
+        for (String courseCode : courseCodes) {
+            Course course = coursesByCode.get(courseCode);
+            if (course != null) {
+                timetable.add(course);
+            }
+        }
+        return timetable;
+    }
+
+    public void add(Course course) {
+        Schedule schedule = course.getParsedSchedule();
+        if (schedule == null) {
+            unparsedBySchedule.computeIfAbsent(course.getSchedule(), key -> new ArrayList<>()).add(course);
+            return;
+        }
+        for (int day = 0; day < Schedule.DAY_COUNT; day++) {
+            if (schedule.meetsOn(day)) {
+                addToDay(days.get(day), course, schedule);
+            }
+        }
+    }
+
+    public boolean conflictsWith(Course course) {
+        return !findConflicts(course).isEmpty();
+    }
+
+    // The registered courses that overlap the given course, in timetable order
+    public List<Course> findConflicts(Course course) {
+        Set<Course> conflicts = new LinkedHashSet<>();
+        Schedule schedule = course.getParsedSchedule();
+        if (schedule == null) {
+            conflicts.addAll(unparsedBySchedule.getOrDefault(course.getSchedule(), List.of()));
+        } else {
+            for (int day = 0; day < Schedule.DAY_COUNT; day++) {
+                if (!schedule.meetsOn(day)) {
+                    continue;
+                }
+                // Blocks are disjoint, so the first one ending by our start ends the walk
+                List<Block> overlapping = new ArrayList<>();
+                for (Block block : days.get(day).headMap(schedule.getEndMinute(), false).descendingMap().values()) {
+                    if (block.end <= schedule.getStartMinute()) {
+                        break;
+                    }
+                    overlapping.add(block);
+                }
+                for (int i = overlapping.size() - 1; i >= 0; i--) {
+                    for (Course member : overlapping.get(i).courses) {
+                        if (member != course && member.getParsedSchedule().overlaps(schedule)) {
+                            conflicts.add(member);
+                        }
+                    }
+                }
+            }
+        }
+        conflicts.remove(course);
+        return new ArrayList<>(conflicts);
+    }
+
+    private static void addToDay(TreeMap<Integer, Block> day, Course course, Schedule schedule) {
+        int start = schedule.getStartMinute();
+        int end = schedule.getEndMinute();
+        List<Course> courses = new ArrayList<>();
+        courses.add(course);
+
+        // Absorb every block that overlaps [start, end)
+        Map.Entry<Integer, Block> before = day.lowerEntry(start);
+        if (before != null && before.getValue().end > start) {
+            start = before.getKey();
+        }
+        Iterator<Map.Entry<Integer, Block>> overlapping = day.subMap(start, true, end, false).entrySet().iterator();
+        while (overlapping.hasNext()) {
+            Block block = overlapping.next().getValue();
+            end = Math.max(end, block.end);
+            courses.addAll(block.courses);
+            overlapping.remove();
+        }
+        day.put(start, new Block(end, courses));
+    }
+
+    private static class Block {
+        final int end;
+        final List<Course> courses;
+
+        Block(int end, List<Course> courses) {
+            this.end = end;
+            this.courses = courses;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.studentregistration.server;
+
+import com.studentregistration.models.AnalyticsSnapshot;
+import com.studentregistration.models.Course;
+import com.studentregistration.models.Student;
+import com.studentregistration.services.AccountService;
+import com.studentregistration.services.CourseCatalogService;
+import com.studentregistration.services.LoginResult;
+import com.studentregistration.services.RegistrationResult;
+import com.studentregistration.services.RegistrationService;
+import com.studentregistration.utils.AsyncService;
+import com.studentregistration.utils.EnrollmentStats;
+import com.studentregistration.utils.FileManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local HTTP/JSON API over the same repository and services as the GUI.
+ *
+ * Endpoints (GET parameters in the query string, POST parameters form-encoded
+ * in the body):
+ *   POST /api/login      username, password -> token and student
+ *   GET  /api/courses    catalog with seats taken
+ *   POST /api/register   courses=CS101,IT101 (Authorization: Bearer token)
+ *   POST /api/drop       courses=CS101 (Authorization: Bearer token)
+ *   GET  /api/analytics  enrollment totals and per-course counts
+ *
+ * Each request runs on its own virtual thread where the JDK has them and on
+ * a fixed pool of platform threads otherwise. Login attempts are throttled
+ * per username and per client address, as they are per terminal in the GUI.
+ *
+ * Passwords arrive in plain text, so the server listens on the loopback
+ * interface unless registration.server.host names another address.
+ */
+public class ApiServer {
+    static final int WORKER_THREADS = Integer.getInteger("registration.server.threads", 64);
+    static final long SESSION_MILLIS = Long.getLong("registration.server.sessionMinutes", 480) * 60_000;
+    static final String HOST = System.getProperty("registration.server.host");
+    static final int MAX_SESSIONS = Integer.getInteger("registration.server.maxSessions", 10_000);
+    static final int MAX_BODY_BYTES = Integer.getInteger("registration.server.maxBodyBytes", 16 * 1024);
+    static final long SWEEP_MILLIS = 60_000;
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final SecureRandom random = new SecureRandom();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicBoolean analyticsRefreshQueued = new AtomicBoolean();
+    private final ScheduledExecutorService sessionSweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ApiServer(int port) throws IOException {
+        InetSocketAddress address = HOST != null
+                ? new InetSocketAddress(HOST, port)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        server = HttpServer.create(address, 0);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/login", handler("POST", this::login));
+        server.createContext("/api/courses", handler("GET", this::courses));
+        server.createContext("/api/register", handler("POST", this::register));
+        server.createContext("/api/drop", handler("POST", this::drop));
+        server.createContext("/api/analytics", handler("GET", this::analytics));
+    }
+
+    public void start() {
+        server.start();
+        sessionSweeper.scheduleWithFixedDelay(this::sweepSessions, SWEEP_MILLIS, SWEEP_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(1);
+        sessionSweeper.shutdown();
+        executor.shutdown();
+    }
+
+    private Response login(HttpExchange exchange, Map<String, String> params) {
+        String username = params.getOrDefault("username", "").trim();
+        String password = params.getOrDefault("password", "");
+        if (username.isEmpty() || password.isEmpty()) {
+            return error(400, "username and password are required");
+        }
+
+        String terminal = exchange.getRemoteAddress().getAddress().getHostAddress();
+        LoginResult result = AccountService.login(username, password, terminal);
+        if (!result.isSuccess()) {
+            return result.isLockedOut() ? lockedOut(result.getLockoutMillis()) : error(401, "Invalid username or password");
+        }
+
+        String token = newToken();
+        if (sessions.size() >= MAX_SESSIONS) {
+            makeRoomForSession();
+        }
+        sessions.put(token, new Session(username, System.currentTimeMillis() + SESSION_MILLIS));
+
+        JsonWriter json = new JsonWriter().beginObject().name("token").value(token).name("student");
+        writeStudent(json, result.getStudent());
+        return new Response(200, json.endObject());
+    }
+
+    private Response courses(HttpExchange exchange, Map<String, String> params) {
+        JsonWriter json = new JsonWriter().beginArray();
+        for (Course course : CourseCatalogService.getCatalog().getCourses()) {
+            json.beginObject()
+                    .name("code").value(course.getCourseCode())
+                    .name("name").value(course.getCourseName())
+                    .name("instructor").value(course.getInstructor())
+                    .name("credits").value(course.getCredits())
+                    .name("schedule").value(course.getSchedule())
+                    .name("maxSeats").value(course.getMaxSeats())
+                    .name("taken").value(CourseCatalogService.getTakenSeats(course.getCourseCode()))
+                    .endObject();
+        }
+        return new Response(200, json.endArray());
+    }
+
+    private Response register(HttpExchange exchange, Map<String, String> params) {
+        String studentId = authenticate(exchange);
+        if (studentId == null) {
+            return error(401, "Log in first and send the token as 'Authorization: Bearer <token>'");
+        }
+        List<String> courseCodes = courseCodes(params);
+        if (courseCodes.isEmpty()) {
+            return error(400, "courses is required");
+        }
+        return registrationResponse(RegistrationService.registerAll(studentId, courseCodes));
+    }
+
+    private Response drop(HttpExchange exchange, Map<String, String> params) {
+        String studentId = authenticate(exchange);
+        if (studentId == null) {
+            return error(401, "Log in first and send the token as 'Authorization: Bearer <token>'");
+        }
+        List<String> courseCodes = courseCodes(params);
+        if (courseCodes.isEmpty()) {
+            return error(400, "courses is required");
+        }
+        return registrationResponse(RegistrationService.dropAll(studentId, courseCodes));
+    }
+
+    private Response analytics(HttpExchange exchange, Map<String, String> params) {
+        AnalyticsSnapshot snapshot = FileManager.loadAnalyticsView();
+        if (snapshot == null) {
+            // Same fallback as the analytics screen: live counters now, full view rebuilt once in the background
+            EnrollmentStats stats = FileManager.getEnrollmentStats();
+            snapshot = AnalyticsSnapshot.fromCounts(stats.getTotalStudents(), stats.getTotalRegistrations(),
+                    stats.getCourseCounts(), FileManager.loadCourses());
+            if (analyticsRefreshQueued.compareAndSet(false, true)) {
+                AsyncService.run(FileManager::refreshAnalyticsView, refreshed -> analyticsRefreshQueued.set(false),
+                        error -> analyticsRefreshQueued.set(false));
+            }
+        }
+
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("totalStudents").value(snapshot.getTotalStudents())
+                .name("totalCourses").value(snapshot.getTotalCourses())
+                .name("totalRegistrations").value(snapshot.getTotalRegistrations())
+                .name("averageCourses").value(snapshot.getAverageCourses())
+                .name("courseCounts").beginObject();
+        for (Map.Entry<String, Integer> entry : snapshot.getCourseCounts().entrySet()) {
+            json.name(entry.getKey()).value(entry.getValue());
+        }
+        json.endObject().name("programCounts").beginObject();
+        for (Map.Entry<String, Integer> entry : snapshot.getProgramCounts().entrySet()) {
+            json.name(entry.getKey()).value(entry.getValue());
+        }
+        return new Response(200, json.endObject().endObject());
+    }
+
+    private Response registrationResponse(RegistrationResult result) {
+        if (result.isSuccess()) {
+            JsonWriter json = new JsonWriter().beginObject().name("student");
+            writeStudent(json, result.getStudent());
+            json.name("courses").beginArray();
+            for (Course course : result.getCourses()) {
+                json.value(course.getCourseCode());
+            }
+            return new Response(200, json.endArray().endObject());
+        }
+        if (result.isFailed()) {
+            return new Response(500, new JsonWriter().beginObject().name("error").value(result.getError()).endObject());
+        }
+
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("error").value("Request rejected; nothing was changed")
+                .name("rejections").beginObject();
+        for (Map.Entry<String, String> rejection : result.getRejections().entrySet()) {
+            json.name(rejection.getKey()).value(rejection.getValue());
+        }
+        json.endObject().name("fullCourses").beginArray();
+        for (String courseCode : result.getFullCourses()) {
+            json.value(courseCode);
+        }
+        return new Response(409, json.endArray().endObject());
+    }
+
+    private static void writeStudent(JsonWriter json, Student student) {
+        json.beginObject()
+                .name("studentId").value(student.getStudentId())
+                .name("name").value(student.getName())
+                .name("email").value(student.getEmail())
+                .name("program").value(student.getProgram())
+                .name("semester").value(student.getSemester())
+                .name("registeredCourses").beginArray();
+        for (String courseCode : student.getRegisteredCourses()) {
+            json.value(courseCode);
+        }
+        json.endArray().endObject();
+    }
+
+    // The student ID behind the bearer token, or null if it is missing or expired
+    private String authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = header.substring("Bearer ".length()).trim();
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        if (session.expiresAt < System.currentTimeMillis()) {
+            sessions.remove(token);
+            return null;
+        }
+        return session.studentId;
+    }
+
+    private void sweepSessions() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> session.expiresAt < now);
+    }
+
+    // At the cap, drops expired sessions and then the one closest to expiring
+    private void makeRoomForSession() {
+        sweepSessions();
+        while (sessions.size() >= MAX_SESSIONS) {
+            String oldest = null;
+            long oldestExpiry = Long.MAX_VALUE;
+            for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+                if (entry.getValue().expiresAt < oldestExpiry) {
+                    oldest = entry.getKey();
+                    oldestExpiry = entry.getValue().expiresAt;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            sessions.remove(oldest);
+        }
+    }
+
+    private static List<String> courseCodes(Map<String, String> params) {
+        List<String> courseCodes = new ArrayList<>();
+        for (String courseCode : params.getOrDefault("courses", "").split(",")) {
+            if (!courseCode.trim().isEmpty()) {
+                courseCodes.add(courseCode.trim());
+            }
+        }
+        return courseCodes;
+    }
+
+    private static Response lockedOut(long lockoutMillis) {
+        long seconds = (lockoutMillis + 999) / 1000;
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("error").value("Too many failed attempts")
+                .name("retryAfterSeconds").value(seconds)
+                .endObject();
+        return new Response(429, json);
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, new JsonWriter().beginObject().name("error").value(message).endObject());
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static HttpHandler handler(String method, Endpoint endpoint) {
+        return exchange -> {
+            Response response;
+            try {
+                if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    response = error(405, "Use " + method);
+                } else {
+                    response = endpoint.handle(exchange, readParams(exchange));
+                }
+            } catch (RequestTooLargeException e) {
+                response = error(413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+            } catch (RejectedRequestException e) {
+                response = error(e.status, e.getMessage());
+            } catch (Exception e) {
+                System.err.println("API request " + exchange.getRequestURI() + " failed: " + e.getMessage());
+                e.printStackTrace();
+                response = error(500, "Internal error");
+            }
+            send(exchange, response);
+        };
+    }
+
+    /**
+     * GET endpoints take their parameters from the query string and POST
+     * endpoints from a form-encoded body only. A password in the query
+     * string is refused outright, since URLs end up in proxy logs and
+     * browser history. Bodies over MAX_BODY_BYTES are refused.
+     */
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), query);
+        if (query.containsKey("password")) {
+            throw new RejectedRequestException(400, "Send the password in a form-encoded POST body");
+        }
+        if (exchange.getRequestMethod().equalsIgnoreCase("GET")) {
+            return query;
+        }
+
+        Map<String, String> params = new HashMap<>();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new RequestTooLargeException();
+            }
+            if (body.length > 0 && !isFormEncoded(exchange)) {
+                throw new RejectedRequestException(415, "Send parameters as " + FORM_CONTENT_TYPE);
+            }
+            parseForm(new String(body, StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    private static boolean isFormEncoded(HttpExchange exchange) {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = parameters >= 0 ? contentType.substring(0, parameters) : contentType;
+        return mediaType.trim().equalsIgnoreCase(FORM_CONTENT_TYPE);
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Virtual threads need Java 21, and this project targets 17, so the
+     * factory is looked up at runtime. Older runtimes get a fixed pool.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "api-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private interface Endpoint {
+        Response handle(HttpExchange exchange, Map<String, String> params) throws IOException;
+    }
+
+    private static class Response {
+        final int status;
+        final JsonWriter json;
+
+        Response(int status, JsonWriter json) {
+            this.status = status;
+            this.json = json;
+        }
+    }
+
+    private static class RequestTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class RejectedRequestException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        RejectedRequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private static class Session {
+        final String studentId;
+        final long expiresAt;
+
+        Session(String studentId, long expiresAt) {
+            this.studentId = studentId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.studentregistration.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal streaming JSON writer for API responses.
+ *
+ * Commas between members are tracked per open object or array, so callers
+ * only describe the structure:
+ *   json.beginObject().name("code").value("CS101").endObject()
+ */
+public class JsonWriter {
+    private final StringBuilder out = new StringBuilder();
+    // One entry per open container: true until its first member is written
+    private final Deque<Boolean> first = new ArrayDeque<>();
+    private boolean afterName;
+
+    public JsonWriter beginObject() {
+        separate();
+        out.append('{');
+        first.push(true);
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        first.pop();
+        out.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separate();
+        out.append('[');
+        first.push(true);
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        first.pop();
+        out.append(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        separate();
+        string(name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    public JsonWriter value(double value) {
+        separate();
+        // JSON has no NaN or Infinity
+        out.append(Double.isFinite(value) ? String.valueOf(value) : "null");
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!first.isEmpty()) {
+            if (!first.peek()) {
+                out.append(',');
+            }
+            first.pop();
+            first.push(false);
+        }
+    }
+
+    private void string(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,107 @@
+package com.studentregistration.services;
+
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.CredentialStore;
+import com.studentregistration.utils.FileManager;
+import com.studentregistration.utils.LoginThrottle;
+import com.studentregistration.utils.StudentIdAllocator;
+import com.studentregistration.utils.StudentRepository;
+import java.io.IOException;
+
+/**
+ * Login, account creation and profile changes.
+ *
+ * The rules here (password length, email format and uniqueness, login
+ * throttling) are enforced for every caller; the screens only check them
+ * early so they can point at the offending field.
+ */
+public class AccountService {
+    public static final int MIN_PASSWORD_LENGTH = 6;
+
+    public static boolean isValidEmail(String email) {
+        return email != null && email.contains("@") && email.contains(".");
+    }
+
+    // In memory only, so locked-out attempts are turned away before any file is touched
+    public static long getRemainingLockout(String username, String terminal) {
+        return LoginThrottle.getRemainingLockout(username, terminal);
+    }
+
+    public static LoginResult login(String username, String password, String terminal) {
+        // Counted as a failure up front and taken back on success
+        long lockout = LoginThrottle.beginAttempt(username, terminal);
+        if (lockout > 0) {
+            return LoginResult.failure(lockout);
+        }
+
+        Student student = CredentialStore.verify(username, password) ? StudentRepository.findById(username) : null;
+        if (student == null) {
+            long newLockout = LoginThrottle.getRemainingLockout(username, terminal);
+            FileManager.logActivity(username, newLockout > 0
+                    ? "Failed login attempt from " + terminal + ", locked out for " + (newLockout / 1000) + "s"
+                    : "Failed login attempt from " + terminal);
+            return LoginResult.failure(newLockout);
+        }
+
+        LoginThrottle.recordSuccess(username, terminal);
+        FileManager.logActivity(username, "Successful login from " + terminal);
+        return LoginResult.success(student);
+    }
+
+    // The student ID is allocated only once the details are valid, so rejected attempts use up no numbers
+    public static ServiceResult<Student> createAccount(String name, String email, String program,
+                                                       String semester, String password) {
+        if (!isValidEmail(email)) {
+            return ServiceResult.failure("Please enter a valid email address (e.g., john@example.com).");
+        }
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            return ServiceResult.failure("Password must be at least " + MIN_PASSWORD_LENGTH + " characters long.");
+        }
+        if (FileManager.isEmailTaken(email, null)) {
+            return ServiceResult.failure("This email address is already registered. Please use a different email.");
+        }
+
+        String studentId;
+        try {
+            studentId = StudentIdAllocator.nextId();
+        } catch (IOException e) {
+            return ServiceResult.failure("Failed to allocate a student ID: " + e.getMessage());
+        }
+        Student student = new Student(studentId, name, email, program, semester, CredentialStore.PASSWORD_MARKER);
+        try {
+            // Store the hash before the account exists, so it is never without a password
+            CredentialStore.setPassword(studentId, password);
+        } catch (IOException e) {
+            return ServiceResult.failure("Failed to store the password: " + e.getMessage());
+        }
+        if (!FileManager.addStudent(student)) {
+            return ServiceResult.failure("Failed to save the new account.");
+        }
+
+        FileManager.logActivity(studentId, "New student registered");
+        FileManager.logRegistration(studentId, "STUDENT_REGISTERED", "N/A",
+                "New student account created: " + name);
+        return ServiceResult.success(student);
+    }
+
+    // Applied to the latest saved record, so courses registered from another terminal are kept
+    public static ServiceResult<Student> updateProfile(String studentId, String name, String email,
+                                                       String program, String semester) {
+        if (!isValidEmail(email)) {
+            return ServiceResult.failure("Please enter a valid email address.");
+        }
+        if (FileManager.isEmailTaken(email, studentId)) {
+            return ServiceResult.failure("This email address is already registered to another student.");
+        }
+        try {
+            return ServiceResult.success(FileManager.updateStudent(studentId, student -> {
+                student.setName(name);
+                student.setEmail(email);
+                student.setProgram(program);
+                student.setSemester(semester);
+            }));
+        } catch (IOException e) {
+            return ServiceResult.failure("Failed to save your profile: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.studentregistration.services;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.CourseCatalog;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The course catalog with the free seats of every course, counted when it
+ * was loaded, so tables can show seats without touching the roster.
+ */
+public class CatalogSeats {
+    private final CourseCatalog catalog;
+    private final Map<String, Integer> availableByCourse;
+
+    CatalogSeats(CourseCatalog catalog, Map<String, Integer> availableByCourse) {
+        this.catalog = catalog;
+        this.availableByCourse = availableByCourse;
+    }
+
+    public static CatalogSeats empty() {
+        return new CatalogSeats(new CourseCatalog("", List.of()), Map.of());
+    }
+
+    public CourseCatalog getCatalog() { return catalog; }
+
+    // -1 when the course has no seat limit
+    public int getAvailableSeats(Course course) {
+        return availableByCourse.getOrDefault(course.getCourseCode(), -1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.studentregistration.services;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.CourseCatalog;
+import com.studentregistration.models.Student;
+import com.studentregistration.utils.FileManager;
+import com.studentregistration.utils.SeatLedger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-side questions about the course catalog: which courses a student
+ * has or can still pick, credit totals, schedule conflicts and seats.
+ */
+public class CourseCatalogService {
+
+    public static CourseCatalog getCatalog() {
+        return FileManager.getCourseCatalog();
+    }
+
+    // Counts free seats up front, so rendering seat columns never reads the roster; call off the FX thread
+    public static CatalogSeats loadCatalogWithSeats() {
+        CourseCatalog catalog = getCatalog();
+        Map<String, Integer> availableByCourse = new HashMap<>();
+        for (Course course : catalog.getCourses()) {
+            if (course.hasSeatLimit()) {
+                availableByCourse.put(course.getCourseCode(), SeatLedger.getAvailable(course));
+            }
+        }
+        return new CatalogSeats(catalog, availableByCourse);
+    }
+
+    // In catalog order; codes no longer in the catalog are left out
+    public static List<Course> getRegisteredCourses(Student student) {
+        List<Course> courses = new ArrayList<>();
+        for (Course course : getCatalog().getCourses()) {
+            if (student.getRegisteredCourses().contains(course.getCourseCode())) {
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+    public static List<Course> getAvailableCourses(CourseCatalog catalog, Student student) {
+        List<Course> courses = new ArrayList<>();
+        for (Course course : catalog.getCourses()) {
+            if (!student.getRegisteredCourses().contains(course.getCourseCode())) {
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+    public static int totalCredits(Collection<String> courseCodes) {
+        return totalCredits(getCatalog(), courseCodes);
+    }
+
+    public static int totalCredits(CourseCatalog catalog, Collection<String> courseCodes) {
+        int credits = 0;
+        for (String courseCode : courseCodes) {
+            Course course = catalog.findByCode(courseCode);
+            if (course != null) {
+                credits += course.getCredits();
+            }
+        }
+        return credits;
+    }
+
+    // Catalog indexes of every course that clashes with the student's registered courses
+    public static BitSet findConflicting(CourseCatalog catalog, Student student) {
+        return catalog.conflictsWith(student.getRegisteredCourses());
+    }
+
+    public static int getTakenSeats(String courseCode) {
+        return SeatLedger.getTaken(courseCode);
+    }
+}
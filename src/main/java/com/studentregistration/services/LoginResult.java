@@ -0,0 +1,34 @@
+package com.studentregistration.services;
+
+import com.studentregistration.models.Student;
+
+/**
+ * Outcome of a login attempt. Either the student is set, or the attempt
+ * failed and getLockoutMillis() says how long further attempts are refused
+ * (0 if the caller may simply try again).
+ */
+public class LoginResult {
+    private final Student student;
+    private final long lockoutMillis;
+
+    private LoginResult(Student student, long lockoutMillis) {
+        this.student = student;
+        this.lockoutMillis = lockoutMillis;
+    }
+
+    static LoginResult success(Student student) {
+        return new LoginResult(student, 0);
+    }
+
+    static LoginResult failure(long lockoutMillis) {
+        return new LoginResult(null, lockoutMillis);
+    }
+
+    public boolean isSuccess() { return student != null; }
+
+    public Student getStudent() { return student; }
+
+    public long getLockoutMillis() { return lockoutMillis; }
+
+    public boolean isLockedOut() { return lockoutMillis > 0; }
+}
@@ -0,0 +1,78 @@
+package com.studentregistration.services;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.Student;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a cart registration or drop.
+ *
+ * A cart is applied as a whole: either every course went through and
+ * getStudent() is the saved record, or nothing was saved and
+ * getRejections() explains, per course code, what stopped it. A cart
+ * that passed its checks but could not be saved has getError() instead.
+ */
+public class RegistrationResult {
+    private final Student student;
+    private final List<Course> courses;
+    private final Map<String, String> rejections;
+    private final List<String> fullCourses;
+    private final String error;
+
+    private RegistrationResult(Student student, List<Course> courses, Map<String, String> rejections,
+                               List<String> fullCourses, String error) {
+        this.student = student;
+        this.courses = courses;
+        this.rejections = rejections;
+        this.fullCourses = fullCourses;
+        this.error = error;
+    }
+
+    static RegistrationResult success(Student student, List<Course> courses) {
+        return new RegistrationResult(student, Collections.unmodifiableList(courses), Map.of(), List.of(), null);
+    }
+
+    static RegistrationResult rejected(Map<String, String> rejections, List<String> fullCourses) {
+        return new RegistrationResult(null, List.of(),
+                Collections.unmodifiableMap(new LinkedHashMap<>(rejections)), List.copyOf(fullCourses), null);
+    }
+
+    static RegistrationResult failed(String error) {
+        return new RegistrationResult(null, List.of(), Map.of(), List.of(), error);
+    }
+
+    public boolean isSuccess() { return student != null; }
+
+    // The saved student record, or null if the cart was rejected
+    public Student getStudent() { return student; }
+
+    // The courses that were registered or dropped
+    public List<Course> getCourses() { return courses; }
+
+    public Map<String, String> getRejections() { return rejections; }
+
+    // Set when saving failed, e.g. on an I/O error; the cart itself may have been fine
+    public String getError() { return error; }
+
+    public boolean isFailed() { return error != null; }
+
+    // Courses rejected only because they had no seats left, candidates for the waitlist
+    public List<String> getFullCourses() { return fullCourses; }
+
+    public String describeRejections() {
+        if (error != null) {
+            return error;
+        }
+        StringBuilder message = new StringBuilder();
+        for (Map.Entry<String, String> rejection : rejections.entrySet()) {
+            if (message.length() > 0) {
+                message.append("\n");
+            }
+            message.append(rejection.getKey()).append(": ").append(rejection.getValue());
+        }
+        return message.toString();
+    }
+}
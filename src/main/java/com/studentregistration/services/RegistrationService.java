@@ -0,0 +1,205 @@
+package com.studentregistration.services;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.CourseCatalog;
+import com.studentregistration.models.Student;
+import com.studentregistration.models.Timetable;
+import com.studentregistration.utils.FileManager;
+import com.studentregistration.utils.SeatLedger;
+import com.studentregistration.utils.StudentRepository;
+import com.studentregistration.utils.WaitlistManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Registers or drops a whole cart of courses in one step.
+ *
+ * The cart is checked as a set (course limit, clashes with the timetable
+ * and with each other, free seats) before anything changes. If it passes,
+ * the student is saved once, which is a single journal append, and the
+ * log records for every course are queued as one batch. The cart is
+ * checked once more under the roster's file lock as it is saved, on the
+ * record and seat counts other terminals may have changed in between.
+ */
+public class RegistrationService {
+
+    // How many more courses the student may add before reaching Student.MAX_COURSES
+    public static int remainingSlots(Student student) {
+        return Math.max(0, Student.MAX_COURSES - student.getRegisteredCourses().size());
+    }
+
+    // Returns the student's position on the waitlist (1 is next in line)
+    public static ServiceResult<Integer> joinWaitlist(String courseCode, String studentId) {
+        try {
+            return ServiceResult.success(WaitlistManager.join(courseCode, studentId));
+        } catch (IOException e) {
+            return ServiceResult.failure("Failed to join the waitlist: " + e.getMessage());
+        }
+    }
+
+    public static RegistrationResult registerAll(String studentId, List<String> courseCodes) {
+        Map<String, String> rejections = new LinkedHashMap<>();
+        Student student = StudentRepository.findById(studentId);
+        if (student == null) {
+            rejections.put(studentId, "Student record not found");
+            return RegistrationResult.rejected(rejections, List.of());
+        }
+
+        CourseCatalog catalog = FileManager.getCourseCatalog();
+        Map<String, Course> coursesByCode = catalog.toMap();
+        List<Course> cart = new ArrayList<>();
+        for (String courseCode : new LinkedHashSet<>(courseCodes)) {
+            Course course = coursesByCode.get(courseCode);
+            if (course == null) {
+                rejections.put(courseCode, "No such course");
+            } else {
+                cart.add(course);
+            }
+        }
+        checkCart(student, cart, coursesByCode, rejections);
+        if (!rejections.isEmpty()) {
+            return RegistrationResult.rejected(rejections, List.of());
+        }
+
+        // Seats last, so a rejected cart never holds one
+        List<Course> reserved = new ArrayList<>();
+        List<String> fullCourses = new ArrayList<>();
+        for (Course course : cart) {
+            if (SeatLedger.reserve(course)) {
+                reserved.add(course);
+            } else {
+                fullCourses.add(course.getCourseCode());
+                rejections.put(course.getCourseCode(), "Course is full (" + course.getMaxSeats() + " seats)");
+            }
+        }
+        if (!rejections.isEmpty()) {
+            releaseAll(reserved);
+            return RegistrationResult.rejected(rejections, fullCourses);
+        }
+
+        // Checked again against the record being saved and the whole roster, in case another terminal changed them since
+        Student saved;
+        try {
+            saved = StudentRepository.update(studentId, fresh -> {
+                rejections.clear();
+                fullCourses.clear();
+                checkCart(fresh, cart, coursesByCode, rejections);
+                for (Course course : cart) {
+                    if (course.hasSeatLimit() && StudentRepository.countEnrolled(course.getCourseCode()) >= course.getMaxSeats()) {
+                        fullCourses.add(course.getCourseCode());
+                        rejections.put(course.getCourseCode(), "Course is full (" + course.getMaxSeats() + " seats)");
+                    }
+                }
+                if (!rejections.isEmpty()) {
+                    return false;
+                }
+                for (Course course : cart) {
+                    fresh.addCourse(course.getCourseCode());
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            releaseAll(reserved);
+            return RegistrationResult.failed("Failed to save your registration: " + e.getMessage());
+        }
+        if (saved == null) {
+            releaseAll(reserved);
+            // Declined with rejections, or the record disappeared in the meantime
+            if (rejections.isEmpty()) {
+                rejections.put(studentId, "Student record not found");
+            }
+            return RegistrationResult.rejected(rejections, fullCourses);
+        }
+
+        FileManager.logRegistrations(studentId, "REGISTER", cart);
+        return RegistrationResult.success(saved, cart);
+    }
+
+    public static RegistrationResult dropAll(String studentId, List<String> courseCodes) {
+        Map<String, String> rejections = new LinkedHashMap<>();
+        CourseCatalog catalog = FileManager.getCourseCatalog();
+        List<Course> dropped = new ArrayList<>();
+        for (String courseCode : new LinkedHashSet<>(courseCodes)) {
+            Course course = catalog.findByCode(courseCode);
+            // Courses removed from the catalog can still be dropped
+            dropped.add(course != null ? course : new Course(courseCode, "Unknown course", "", 0, ""));
+        }
+
+        Student saved;
+        try {
+            saved = StudentRepository.update(studentId, fresh -> {
+                rejections.clear();
+                for (Course course : dropped) {
+                    if (!fresh.getRegisteredCourses().contains(course.getCourseCode())) {
+                        rejections.put(course.getCourseCode(), "Not registered");
+                    }
+                }
+                if (!rejections.isEmpty()) {
+                    return false;
+                }
+                for (Course course : dropped) {
+                    fresh.removeCourse(course.getCourseCode());
+                }
+                return true;
+            });
+        } catch (IOException e) {
+            return RegistrationResult.failed("Failed to save the drop: " + e.getMessage());
+        }
+        if (saved == null) {
+            if (rejections.isEmpty()) {
+                rejections.put(studentId, "Student record not found");
+            }
+            return RegistrationResult.rejected(rejections, List.of());
+        }
+
+        FileManager.logRegistrations(studentId, "DROP", dropped);
+        // Seats free up only once the drop is saved
+        for (Course course : dropped) {
+            SeatLedger.release(course.getCourseCode());
+            WaitlistManager.seatReleased(course.getCourseCode());
+        }
+        return RegistrationResult.success(saved, dropped);
+    }
+
+    // Course limit, duplicates, and clashes with the timetable and within the cart
+    private static void checkCart(Student student, List<Course> cart, Map<String, Course> coursesByCode,
+                                  Map<String, String> rejections) {
+        List<String> registered = student.getRegisteredCourses();
+        for (Course course : cart) {
+            if (registered.contains(course.getCourseCode())) {
+                rejections.put(course.getCourseCode(), "Already registered");
+            }
+        }
+
+        if (cart.size() > remainingSlots(student)) {
+            int total = registered.size() + cart.size();
+            rejections.put("Cart", "Would bring you to " + total + " courses; the limit is " + Student.MAX_COURSES);
+        }
+
+        // Each course must fit the timetable and every course before it in the cart
+        Timetable timetable = Timetable.of(registered, coursesByCode);
+        for (Course course : cart) {
+            if (registered.contains(course.getCourseCode())) {
+                continue;
+            }
+            List<Course> conflicts = timetable.findConflicts(course);
+            if (!conflicts.isEmpty()) {
+                rejections.put(course.getCourseCode(), "Schedule conflict with " + conflicts.stream()
+                        .map(conflict -> conflict.getCourseCode() + " (" + conflict.getSchedule() + ")")
+                        .collect(Collectors.joining(", ")));
+            }
+            timetable.add(course);
+        }
+    }
+
+    private static void releaseAll(List<Course> courses) {
+        for (Course course : courses) {
+            SeatLedger.release(course.getCourseCode());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.studentregistration.services;
+
+/**
+ * Outcome of a single service call: the value on success, or a message
+ * explaining why nothing was changed. Callers decide how to present it.
+ */
+public class ServiceResult<T> {
+    private final T value;
+    private final String message;
+
+    private ServiceResult(T value, String message) {
+        this.value = value;
+        this.message = message;
+    }
+
+    static <T> ServiceResult<T> success(T value) {
+        return new ServiceResult<>(value, null);
+    }
+
+    static <T> ServiceResult<T> failure(String message) {
+        return new ServiceResult<>(null, message);
+    }
+
+    public boolean isSuccess() { return message == null; }
+
+    public T getValue() { return value; }
+
+    // Null on success
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,202 @@
+package com.studentregistration.utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer for one append-only log file.
+ *
+ * Callers only pay for a queue offer. A dedicated thread drains the bounded
+ * queue and writes entries in groups, committing when a batch fills up or
+ * the flush interval passes, whichever comes first. Timestamps are taken
+ * when an entry is queued and formatted on the writer thread.
+ */
+public class AsyncLogWriter {
+    static final int QUEUE_CAPACITY = Integer.getInteger("registration.log.queueCapacity", 8192);
+    static final int BATCH_SIZE = Integer.getInteger("registration.log.batchSize", 256);
+    static final long FLUSH_INTERVAL_MILLIS = Long.getLong("registration.log.flushMillis", 200);
+
+    // Queued by close; the writer thread stops once everything before it is written
+    private static final Entry END = new Entry(0, List.of(), null);
+
+    private final RotatingLogFile logFile;
+    private final String separator;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    public AsyncLogWriter(RotatingLogFile logFile, String separator) {
+        this.logFile = logFile;
+        this.separator = separator;
+        this.writerThread = new Thread(this::run, "log-writer-" + logFile.getFileName());
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues one line. Never blocks: if the writer has fallen behind by a
+     * full queue the entry is counted as dropped and reported in the log.
+     */
+    public void append(String message) {
+        if (closed || !queue.offer(new Entry(System.currentTimeMillis(), List.of(message), null))) {
+            droppedEntries.incrementAndGet();
+        }
+    }
+
+    // Queues several lines as one entry, so they are written together with one timestamp
+    public void appendAll(List<String> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (closed || !queue.offer(new Entry(System.currentTimeMillis(), List.copyOf(messages), null))) {
+            droppedEntries.addAndGet(messages.size());
+        }
+    }
+
+    /**
+     * Queues lines under the given timestamp, e.g. when generating or
+     * importing history. Unlike append this waits for queue space instead
+     * of dropping, so bulk writers are throttled to the writer's pace.
+     */
+    public void appendAt(long timestamp, List<String> messages) throws InterruptedException {
+        if (closed) {
+            droppedEntries.addAndGet(messages.size());
+            return;
+        }
+        queue.put(new Entry(timestamp, List.copyOf(messages), null));
+    }
+
+    // Blocks until everything queued before this call is on disk
+    public void flush() {
+        if (closed || Thread.currentThread() == writerThread) {
+            return;
+        }
+        CountDownLatch written = new CountDownLatch(1);
+        try {
+            queue.put(new Entry(0, List.of(), written));
+            written.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops accepting entries and waits for the writer thread to write
+     * everything already queued. The thread is never interrupted, since an
+     * interrupt during a write closes the file channel under it.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        boolean ended = false;
+        while (!ended) {
+            try {
+                Entry next = queue.take();
+                long deadline = System.currentTimeMillis() + FLUSH_INTERVAL_MILLIS;
+                while (next != null && next != END) {
+                    batch.add(next);
+                    if (batch.size() >= BATCH_SIZE || next.flushed != null) {
+                        break;
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : queue.poll();
+                }
+                ended = next == END;
+            } catch (InterruptedException e) {
+                // Nothing else interrupts this thread; close stops it with END
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+        // Appends that checked closed just before close set it
+        queue.drainTo(batch);
+        writeBatch(batch);
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // Other terminals append to the same file, so each batch is written under its lock
+            logFile.withFileLock(() -> writeEntries(batch));
+        } catch (IOException e) {
+            System.err.println("Failed to write " + logFile.getFileName() + ": " + e.getMessage());
+        }
+
+        for (Entry entry : batch) {
+            if (entry.flushed != null) {
+                entry.flushed.countDown();
+            }
+        }
+    }
+
+    private void writeEntries(List<Entry> batch) throws IOException {
+        PrintWriter writer = null;
+        try {
+            long dropped = droppedEntries.getAndSet(0);
+            if (dropped > 0) {
+                writer = write(writer, System.currentTimeMillis(), "System" + separator + "Log queue full, dropped " + dropped + " entries");
+            }
+            for (Entry entry : batch) {
+                for (String message : entry.messages) {
+                    writer = write(writer, entry.timestamp, message);
+                }
+            }
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    // Rolls the file first if this entry crosses the size or day boundary
+    private PrintWriter write(PrintWriter writer, long timestamp, String message) throws IOException {
+        if (logFile.shouldRoll(timestamp)) {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            logFile.roll();
+        }
+        if (writer == null) {
+            writer = logFile.openForAppend();
+        }
+        String line = RotatingLogFile.formatTimestamp(timestamp) + separator + message;
+        writer.println(line);
+        logFile.recordWrite(timestamp, line);
+        return writer;
+    }
+
+    private static class Entry {
+        final long timestamp;
+        final List<String> messages;
+        final CountDownLatch flushed;
+
+        Entry(long timestamp, List<String> messages, CountDownLatch flushed) {
+            this.timestamp = timestamp;
+            this.messages = messages;
+            this.flushed = flushed;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.studentregistration.utils;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs FileManager work off the JavaFX application thread.
+ *
+ * All file I/O goes through one dedicated thread, so loads and saves run
+ * in the order the UI asked for them. Results are handed back on the FX
+ * thread, where controllers update their controls.
+ *
+ * In headless mode (the HTTP server) there is no FX toolkit: results are
+ * handed back on the I/O thread and UI actions are skipped.
+ */
+public class AsyncService {
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "file-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile boolean headless;
+
+    // Set once at startup by entry points that never start JavaFX
+    public static void setHeadless(boolean enabled) {
+        headless = enabled;
+    }
+
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    public static <T> Task<T> run(Callable<T> work, Consumer<T> onSuccess) {
+        return run(work, onSuccess, error -> {
+            System.err.println("Background task failed: " + error.getMessage());
+            error.printStackTrace();
+        });
+    }
+
+    // Returns null in headless mode, where there is no Task to hand out
+    public static <T> Task<T> run(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        if (headless) {
+            ioExecutor.submit(() -> {
+                T result;
+                try {
+                    result = work.call();
+                } catch (Exception e) {
+                    onFailure.accept(e);
+                    return;
+                }
+                onSuccess.accept(result);
+            });
+            return null;
+        }
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        // Task fires these handlers on the FX thread
+        task.setOnSucceeded(event -> onSuccess.accept(task.getValue()));
+        task.setOnFailed(event -> onFailure.accept(task.getException()));
+        ioExecutor.submit(task);
+        return task;
+    }
+
+    public static Task<Void> run(Runnable work, Runnable onSuccess) {
+        return run(() -> {
+            work.run();
+            return null;
+        }, ignored -> onSuccess.run());
+    }
+
+    // Runs UI code on the FX thread, immediately if we are already on it
+    public static void runOnFxThread(Runnable action) {
+        if (headless) {
+            return;
+        }
+        if (Platform.isFxApplicationThread()) {
+            action.run();
+        } else {
+            Platform.runLater(action);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.studentregistration.utils;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Crash-safe replacement of a data file.
+ *
+ * Content goes to a temp file in the same directory, is fsynced, and is then
+ * atomically moved over the original, so readers see either the old file or
+ * the new one and never a truncated mix. The previous version is kept as
+ * numbered backups (file.backup.1 is the newest) that are rotated by rename
+ * and created with a hard link, so no save pays for a full copy.
+ */
+public class AtomicFileWriter {
+    static final int BACKUP_COUNT = Integer.getInteger("registration.backups", 3);
+
+    public interface Content {
+        void writeTo(PrintWriter writer) throws IOException;
+    }
+
+    public static void write(String fileName, Content content) throws IOException {
+        write(fileName, BACKUP_COUNT, content);
+    }
+
+    // Derived files that can be rebuilt from the data files pass 0 backups
+    public static void write(String fileName, int backups, Content content) throws IOException {
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile());
+                 PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                content.writeTo(writer);
+                writer.flush();
+                if (writer.checkError()) {
+                    throw new IOException("Failed writing " + temp);
+                }
+                out.getFD().sync();
+            }
+
+            if (backups > 0 && Files.exists(target)) {
+                rotateBackups(target, backups);
+            }
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Removes every numbered backup, e.g. once they hold data that must not outlive the current file
+    public static void deleteBackups(String fileName) throws IOException {
+        Path target = Path.of(fileName).toAbsolutePath();
+        for (int generation = 1; ; generation++) {
+            if (!Files.deleteIfExists(backupPath(target, generation)) && generation >= BACKUP_COUNT) {
+                return;
+            }
+        }
+    }
+
+    private static void rotateBackups(Path target, int backups) throws IOException {
+        Files.deleteIfExists(backupPath(target, backups));
+        for (int i = backups - 1; i >= 1; i--) {
+            Path backup = backupPath(target, i);
+            if (Files.exists(backup)) {
+                Files.move(backup, backupPath(target, i + 1));
+            }
+        }
+
+        // The atomic move below gives target a new inode, so the link keeps the old content
+        Path newest = backupPath(target, 1);
+        try {
+            Files.createLink(newest, target);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(target, newest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Path backupPath(Path target, int generation) {
+        return target.resolveSibling(target.getFileName() + ".backup." + generation);
+    }
+}
@@ -0,0 +1,293 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Student;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Salted password hashes, kept apart from the student records.
+ *
+ * Credential Format: StudentID,Iterations,Salt,Hash (salt and hash in Base64)
+ *
+ * The file is append-only and the last row for an ID wins. It is kept in
+ * a map of decoded salts and hashes, so a login is one lookup and one
+ * PBKDF2 run. Before each lookup the rows other terminals appended since
+ * the last read are picked up, so accounts created or rehashed elsewhere
+ * can log in here. At startup every plaintext password still in
+ * students.txt is hashed here and replaced there by PASSWORD_MARKER, and
+ * the backups of students.txt, which still hold the plaintext, are deleted.
+ */
+public class CredentialStore {
+    static final String CREDENTIALS_FILE = FileManager.STUDENTS_FILE.replace("students.txt", "credentials.txt");
+
+    // Stored in the password column once the real password lives here
+    public static final String PASSWORD_MARKER = "*";
+
+    private static final String HEADER = "# Credential Format: StudentID,Iterations,Salt,Hash";
+
+    // Passwords hashed per locked append during migration, so logins are never held up for long
+    static final int MIGRATION_BATCH_SIZE = 32;
+
+    // Serializes whole migrations; logins never take it
+    private static final Object migrationLock = new Object();
+
+    private static final Map<String, Credential> credentialsById = new HashMap<>();
+    // How much of the file has been read, and its modification time at that point
+    private static long readBytes;
+    private static long readModified;
+
+    // Hashed when an ID is unknown, so unknown and known IDs take the same time
+    private static final Credential DUMMY = new Credential(PasswordHasher.ITERATIONS,
+            PasswordHasher.newSalt(), new byte[PasswordHasher.HASH_BITS / 8]);
+
+    /**
+     * Migrates in the background on a thread of its own, so the file-io
+     * executor that serves logins and saves is never queued behind it.
+     * Logins that arrive first migrate their own password.
+     */
+    public static void startMigration() {
+        Thread thread = new Thread(CredentialStore::migrate, "password-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Loads the store and migrates plaintext passwords; returns once no migration is running
+    public static void migrate() {
+        synchronized (migrationLock) {
+            synchronized (CredentialStore.class) {
+                refresh();
+            }
+            migrateAll();
+        }
+    }
+
+    public static boolean verify(String studentId, String password) {
+        Credential credential;
+        synchronized (CredentialStore.class) {
+            refresh();
+            credential = credentialsById.get(studentId);
+        }
+        if (credential == null) {
+            credential = migrateOne(studentId);
+        }
+
+        // Hash outside the lock so concurrent logins do not queue behind each other
+        if (credential == null) {
+            PasswordHasher.matches(password, DUMMY.salt, DUMMY.iterations, DUMMY.hash);
+            return false;
+        }
+        boolean matches = PasswordHasher.matches(password, credential.salt, credential.iterations, credential.hash);
+        if (matches && credential.iterations != PasswordHasher.ITERATIONS) {
+            // Bring the hash up to the current cost while we have the password
+            try {
+                setPassword(studentId, password);
+            } catch (IOException e) {
+                System.err.println("Failed to rehash password for " + studentId + ": " + e.getMessage());
+            }
+        }
+        return matches;
+    }
+
+    public static void setPassword(String studentId, String password) throws IOException {
+        byte[] salt = PasswordHasher.newSalt();
+        Credential credential = new Credential(PasswordHasher.ITERATIONS, salt,
+                PasswordHasher.hash(password, salt, PasswordHasher.ITERATIONS));
+        synchronized (CredentialStore.class) {
+            append(List.of(format(studentId, credential)));
+            credentialsById.put(studentId, credential);
+        }
+    }
+
+    /**
+     * Reads the rows appended since the last call. A file that shrank or
+     * was rewritten in place is read again from the start. A final row
+     * without its line break is still being written and is left for the
+     * next call.
+     */
+    private static void refresh() {
+        File file = new File(CREDENTIALS_FILE);
+        long length = file.length();
+        long modified = file.lastModified();
+        if (length == readBytes && modified == readModified) {
+            return;
+        }
+        if (length <= readBytes) {
+            credentialsById.clear();
+            readBytes = 0;
+        }
+        if (length == 0) {
+            readModified = modified;
+            return;
+        }
+
+        try (RandomAccessFile access = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) (length - readBytes)];
+            access.seek(readBytes);
+            access.readFully(bytes);
+            int lineStart = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == '\n') {
+                    parseRow(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8).trim());
+                    lineStart = i + 1;
+                }
+            }
+            readBytes += lineStart;
+            readModified = modified;
+        } catch (IOException e) {
+            System.err.println("Error loading credentials: " + e.getMessage());
+        }
+    }
+
+    private static void parseRow(String line) {
+        if (line.startsWith("#") || line.isEmpty()) {
+            return;
+        }
+        String[] parts = line.split(",");
+        if (parts.length == 4) {
+            try {
+                Base64.Decoder decoder = Base64.getDecoder();
+                credentialsById.put(parts[0], new Credential(Integer.parseInt(parts[1]),
+                        decoder.decode(parts[2]), decoder.decode(parts[3])));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping malformed credential for " + parts[0]);
+            }
+        }
+    }
+
+    /**
+     * Moves every plaintext password out of students.txt. Hashing happens
+     * outside the lock in small batches, so logins keep being served while
+     * a large legacy roster is migrated.
+     */
+    private static void migrateAll() {
+        List<Student> pending = new ArrayList<>();
+        for (Student student : StudentRepository.findAll()) {
+            if (needsMigration(student)) {
+                pending.add(student);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Set<String> migrated = new HashSet<>();
+        try {
+            for (int start = 0; start < pending.size(); start += MIGRATION_BATCH_SIZE) {
+                List<Student> batch = pending.subList(start, Math.min(pending.size(), start + MIGRATION_BATCH_SIZE));
+                List<String> rows = new ArrayList<>(batch.size());
+                Map<String, Credential> hashed = new HashMap<>();
+                for (Student student : batch) {
+                    Credential credential = hashPlaintext(student);
+                    hashed.put(student.getStudentId(), credential);
+                    rows.add(format(student.getStudentId(), credential));
+                }
+                synchronized (CredentialStore.class) {
+                    // Hashes are durable before the plaintext goes, so a crash in between only repeats the migration
+                    append(rows);
+                    credentialsById.putAll(hashed);
+                }
+                migrated.addAll(hashed.keySet());
+            }
+        } catch (IOException e) {
+            System.err.println("Password migration failed: " + e.getMessage());
+        }
+        if (migrated.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Applied to the roster as it is now, so registrations made while hashing are kept
+            StudentRepository.updateAll(student -> {
+                if (!migrated.contains(student.getStudentId()) || !needsMigration(student)) {
+                    return false;
+                }
+                student.setPassword(PASSWORD_MARKER);
+                return true;
+            });
+            // The snapshot was rewritten without the journal; only the backups still hold the plaintext
+            AtomicFileWriter.deleteBackups(FileManager.STUDENTS_FILE);
+            FileManager.logActivity("System", "Migrated " + migrated.size() + " passwords to " + CREDENTIALS_FILE);
+        } catch (IOException e) {
+            System.err.println("Password migration failed: " + e.getMessage());
+        }
+    }
+
+    // Covers rows added to students.txt by hand, and logins that arrive before migrateAll reaches them
+    private static Credential migrateOne(String studentId) {
+        Student student = StudentRepository.findById(studentId);
+        if (student == null || !needsMigration(student)) {
+            return null;
+        }
+        Credential credential = hashPlaintext(student);
+        try {
+            synchronized (CredentialStore.class) {
+                append(List.of(format(studentId, credential)));
+                credentialsById.put(studentId, credential);
+            }
+            StudentRepository.update(studentId, fresh -> {
+                if (!needsMigration(fresh)) {
+                    return false;
+                }
+                fresh.setPassword(PASSWORD_MARKER);
+                return true;
+            });
+        } catch (IOException e) {
+            System.err.println("Password migration failed for " + studentId + ": " + e.getMessage());
+        }
+        return credential;
+    }
+
+    private static boolean needsMigration(Student student) {
+        return student.getPassword() != null && !student.getPassword().equals(PASSWORD_MARKER);
+    }
+
+    private static Credential hashPlaintext(Student student) {
+        byte[] salt = PasswordHasher.newSalt();
+        return new Credential(PasswordHasher.ITERATIONS, salt,
+                PasswordHasher.hash(student.getPassword(), salt, PasswordHasher.ITERATIONS));
+    }
+
+    private static void append(List<String> rows) throws IOException {
+        File file = new File(CREDENTIALS_FILE);
+        boolean isNew = !file.exists() || file.length() == 0;
+        StringBuilder text = new StringBuilder();
+        if (isNew) {
+            text.append(HEADER).append(System.lineSeparator());
+        }
+        for (String row : rows) {
+            text.append(row).append(System.lineSeparator());
+        }
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+    }
+
+    private static String format(String studentId, Credential credential) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return studentId + "," + credential.iterations + ","
+                + encoder.encodeToString(credential.salt) + "," + encoder.encodeToString(credential.hash);
+    }
+
+    private static class Credential {
+        final int iterations;
+        final byte[] salt;
+        final byte[] hash;
+
+        Credential(int iterations, byte[] salt, byte[] hash) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+    }
+}
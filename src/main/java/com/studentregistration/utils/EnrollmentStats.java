@@ -0,0 +1,71 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Student;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running enrollment counters kept up to date by StudentRepository.
+ *
+ * Every save adjusts the per-course counters by the courses the student
+ * added or dropped, so reading course popularity or total registrations
+ * never walks the roster. Derived figures such as the average load and
+ * the top courses come from AnalyticsSnapshot.fromCounts. StudentRepository
+ * hands out copies, so a copy can be read on any thread.
+ */
+public class EnrollmentStats {
+    private int totalStudents;
+    private int totalRegistrations;
+    private final Map<String, Integer> courseCounts = new LinkedHashMap<>();
+
+    void clear() {
+        totalStudents = 0;
+        totalRegistrations = 0;
+        courseCounts.clear();
+    }
+
+    void add(Student student) {
+        // Admin is not counted as a student
+        if (student.getStudentId().equals("admin")) {
+            return;
+        }
+        totalStudents++;
+        totalRegistrations += student.getRegisteredCourses().size();
+        for (String courseCode : student.getRegisteredCourses()) {
+            courseCounts.merge(courseCode, 1, Integer::sum);
+        }
+    }
+
+    void remove(Student student) {
+        if (student.getStudentId().equals("admin")) {
+            return;
+        }
+        totalStudents--;
+        totalRegistrations -= student.getRegisteredCourses().size();
+        for (String courseCode : student.getRegisteredCourses()) {
+            // Drop the key when it reaches zero so charts only show enrolled courses
+            courseCounts.computeIfPresent(courseCode, (code, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    EnrollmentStats copy() {
+        EnrollmentStats copy = new EnrollmentStats();
+        copy.totalStudents = totalStudents;
+        copy.totalRegistrations = totalRegistrations;
+        copy.courseCounts.putAll(courseCounts);
+        return copy;
+    }
+
+    public int getTotalStudents() { return totalStudents; }
+
+    public int getTotalRegistrations() { return totalRegistrations; }
+
+    public int getCourseCount(String courseCode) {
+        return courseCounts.getOrDefault(courseCode, 0);
+    }
+
+    public Map<String, Integer> getCourseCounts() {
+        return Collections.unmodifiableMap(courseCounts);
+    }
+}
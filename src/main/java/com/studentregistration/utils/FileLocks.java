@@ -0,0 +1,43 @@
+package com.studentregistration.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+
+/**
+ * Exclusive locks on the shared .lock files.
+ *
+ * Linux tracks these locks per process, not per thread, and can fail a
+ * wait with EDEADLK when two terminals each have one thread waiting on a
+ * lock the other holds in another thread, although no thread holds what
+ * the other wants. The error text depends on the platform, so any failure
+ * to lock is retried a few times with a short, growing pause. Callers
+ * usually hold their own monitors while waiting, so the pauses stay brief:
+ * all attempts together take well under a second.
+ */
+class FileLocks {
+    static final int MAX_ATTEMPTS = 8;
+    static final long FIRST_RETRY_MILLIS = 5;
+
+    static FileLock lock(FileChannel channel) throws IOException {
+        long pause = FIRST_RETRY_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return channel.lock();
+            } catch (IOException | OverlappingFileLockException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    System.err.println("Giving up on a file lock after " + attempt + " attempts: " + e);
+                    throw e instanceof IOException ? (IOException) e : new IOException("Could not lock the file", e);
+                }
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for a file lock", e);
+            }
+            pause *= 2;
+        }
+    }
+}
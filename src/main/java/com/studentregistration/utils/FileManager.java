@@ -1,25 +1,49 @@
 package com.studentregistration.utils;
 
+import com.studentregistration.models.AnalyticsSnapshot;
 import com.studentregistration.models.Student;
 import com.studentregistration.models.Course;
-import javafx.scene.control.Alert;
+import com.studentregistration.models.CourseCatalog;
+import com.studentregistration.models.RegistrationEvent;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.function.Consumer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class FileManager {
-    private static final String DATA_DIR = "data";
-    private static final String STUDENTS_FILE = DATA_DIR + "/students.txt";
+    // Relative to the working directory unless overridden, e.g. by benchmarks pointing at generated data
+    private static final String DATA_DIR = System.getProperty("registration.dataDir", "data");
+    static final String STUDENTS_FILE = DATA_DIR + "/students.txt";
     private static final String COURSES_FILE = DATA_DIR + "/courses.txt";
     private static final String REGISTRATIONS_FILE = DATA_DIR + "/registrations.txt";
     private static final String LOGS_FILE = DATA_DIR + "/system_logs.txt";
     private static final String ANALYTICS_FILE = DATA_DIR + "/analytics_data.txt";
+    private static final String ANALYTICS_VERSION_HEADER = "# Source Version: ";
+    private static final int RECENT_ACTIVITY_LINES = Integer.getInteger("registration.recentActivity.lines", 10);
+    
+    private static final String REGISTRATIONS_HEADER = 
+            "# Registration Log Format: Timestamp,StudentID,Action,CourseCode,Details\n" +
+            "# Actions: REGISTER, DROP, LOGIN, PROFILE_UPDATE, STUDENT_REGISTERED, WAITLIST, PROMOTE";
+    
+    private static final RotatingLogFile activityLogFile = new RotatingLogFile(LOGS_FILE, null);
+    private static final RotatingLogFile registrationLogFile = new RotatingLogFile(REGISTRATIONS_FILE, REGISTRATIONS_HEADER);
+    private static final AsyncLogWriter activityLog = new AsyncLogWriter(activityLogFile, " | ");
+    private static final AsyncLogWriter registrationLog = new AsyncLogWriter(registrationLogFile, ",");
+    private static final RegistrationLogIndex registrationIndex = new RegistrationLogIndex(REGISTRATIONS_FILE);
+    
+    private static CourseCatalog courseCatalog;
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(FileManager::shutdown, "log-shutdown"));
+    }
     
-    public static void initializeDataFiles() {
+    // False if a data file could not be created; the cause is printed to stderr
+    public static boolean initializeDataFiles() {
         try {
             // Create data directory if it doesn't exist
             File dataDir = new File(DATA_DIR);
@@ -33,24 +57,21 @@ public class FileManager {
             initializeCoursesFile();
             initializeRegistrationsFile();
             initializeAnalyticsFile();
-            
-            showAlert(Alert.AlertType.INFORMATION, "System Ready", 
-                     "Data files initialized successfully.\n\n" +
-                     "Students must register to create accounts.\n" +
-                     "Admin login: admin / admin");
+            CredentialStore.startMigration();
+            return true;
             
         } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Initialization Error", 
-                     "Failed to initialize data files: " + e.getMessage());
+            System.err.println("Failed to initialize data files: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
     
     private static void initializeStudentsFile() throws IOException {
         File studentsFile = new File(STUDENTS_FILE);
         if (!studentsFile.exists()) {
-            try (PrintWriter writer = new PrintWriter(new FileWriter(studentsFile))) {
-                writer.println("# Student Data Format: ID,Name,Email,Program,Semester,Password,RegisteredCourses");
+            try (PrintWriter writer = new PrintWriter(new FileWriter(studentsFile, StandardCharsets.UTF_8))) {
+                writer.println("# Student Data Format: ID,Name,Email,Program,Semester,Password,RegisteredCourses,Version");
                 writer.println("# Created: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
                 writer.println("# Students must register through the application to create accounts");
                 writer.println("");
@@ -66,29 +87,29 @@ public class FileManager {
     private static void initializeCoursesFile() throws IOException {
         File coursesFile = new File(COURSES_FILE);
         if (!coursesFile.exists()) {
-            try (PrintWriter writer = new PrintWriter(new FileWriter(coursesFile))) {
-                writer.println("# Course Data Format: Code,Name,Instructor,Credits,Schedule");
+            try (PrintWriter writer = new PrintWriter(new FileWriter(coursesFile, StandardCharsets.UTF_8))) {
+                writer.println("# Course Data Format: Code,Name,Instructor,Credits,Schedule,MaxSeats");
                 writer.println("# Created: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
                 writer.println("");
                 writer.println("# Computer Science Courses");
-                writer.println("CS101,Introduction to Programming,Dr. Johnson,3,MWF 9:00-10:00");
-                writer.println("CS201,Data Structures and Algorithms,Dr. Williams,4,TTh 11:00-12:30");
-                writer.println("CS301,Database Management Systems,Dr. Brown,3,MWF 2:00-3:00");
-                writer.println("CS401,Software Engineering,Dr. Davis,4,TTh 3:30-5:00");
-                writer.println("CS501,Machine Learning,Dr. Garcia,3,MWF 1:00-2:00");
+                writer.println("CS101,Introduction to Programming,Dr. Johnson,3,MWF 9:00-10:00,40");
+                writer.println("CS201,Data Structures and Algorithms,Dr. Williams,4,TTh 11:00-12:30,35");
+                writer.println("CS301,Database Management Systems,Dr. Brown,3,MWF 2:00-3:00,30");
+                writer.println("CS401,Software Engineering,Dr. Davis,4,TTh 3:30-5:00,30");
+                writer.println("CS501,Machine Learning,Dr. Garcia,3,MWF 1:00-2:00,25");
                 writer.println("");
                 writer.println("# Information Technology Courses");
-                writer.println("IT101,Web Development Fundamentals,Prof. Wilson,3,MWF 10:00-11:00");
-                writer.println("IT201,Network Security,Prof. Miller,3,TTh 1:00-2:30");
-                writer.println("IT301,Cloud Computing,Prof. Anderson,4,MWF 3:00-4:00");
+                writer.println("IT101,Web Development Fundamentals,Prof. Wilson,3,MWF 10:00-11:00,40");
+                writer.println("IT201,Network Security,Prof. Miller,3,TTh 1:00-2:30,30");
+                writer.println("IT301,Cloud Computing,Prof. Anderson,4,MWF 3:00-4:00,30");
                 writer.println("");
                 writer.println("# Mathematics Courses");
-                writer.println("MATH201,Discrete Mathematics,Dr. Taylor,4,MWF 11:00-12:00");
-                writer.println("MATH301,Statistics for Computer Science,Dr. Lee,3,TTh 9:30-11:00");
+                writer.println("MATH201,Discrete Mathematics,Dr. Taylor,4,MWF 11:00-12:00,35");
+                writer.println("MATH301,Statistics for Computer Science,Dr. Lee,3,TTh 9:30-11:00,35");
                 writer.println("");
                 writer.println("# General Education Courses");
-                writer.println("ENG101,Technical Writing,Prof. Thompson,2,TTh 9:00-10:00");
-                writer.println("ENG201,Communication Skills,Prof. Martinez,2,MWF 8:00-9:00");
+                writer.println("ENG101,Technical Writing,Prof. Thompson,2,TTh 9:00-10:00,50");
+                writer.println("ENG201,Communication Skills,Prof. Martinez,2,MWF 8:00-9:00,50");
             }
             logActivity("System", "Initialized courses.txt with course catalog");
         }
@@ -97,9 +118,8 @@ public class FileManager {
     private static void initializeRegistrationsFile() throws IOException {
         File registrationsFile = new File(REGISTRATIONS_FILE);
         if (!registrationsFile.exists()) {
-            try (PrintWriter writer = new PrintWriter(new FileWriter(registrationsFile))) {
-                writer.println("# Registration Log Format: Timestamp,StudentID,Action,CourseCode,Details");
-                writer.println("# Actions: REGISTER, DROP, LOGIN, PROFILE_UPDATE, STUDENT_REGISTERED");
+            try (PrintWriter writer = new PrintWriter(new FileWriter(registrationsFile, StandardCharsets.UTF_8))) {
+                writer.println(REGISTRATIONS_HEADER);
                 writer.println("# Created: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
                 writer.println("");
             }
@@ -110,7 +130,7 @@ public class FileManager {
     private static void initializeAnalyticsFile() throws IOException {
         File analyticsFile = new File(ANALYTICS_FILE);
         if (!analyticsFile.exists()) {
-            try (PrintWriter writer = new PrintWriter(new FileWriter(analyticsFile))) {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(analyticsFile, StandardCharsets.UTF_8))) {
                 writer.println("# Analytics Data File");
                 writer.println("# This file stores computed analytics data for faster retrieval");
                 writer.println("# Format: Timestamp,DataType,Key,Value");
@@ -121,36 +141,122 @@ public class FileManager {
         }
     }
     
-    public static void logActivity(String studentId, String activity) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(LOGS_FILE, true))) {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            writer.println(timestamp + " | " + studentId + " | " + activity);
-        } catch (IOException e) {
-            System.err.println("Failed to log activity: " + e.getMessage());
-        }
+    // Identifies the students and courses data an analytics view was computed from
+    public static String getAnalyticsSourceVersion() {
+        return "students=" + StudentRepository.getSourceVersion() + 
+               "courses=" + getCoursesVersion();
     }
     
-    public static void logRegistration(String studentId, String action, String courseCode, String details) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(REGISTRATIONS_FILE, true))) {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            writer.println(timestamp + "," + studentId + "," + action + "," + courseCode + "," + details);
+    private static String getCoursesVersion() {
+        File coursesFile = new File(COURSES_FILE);
+        return coursesFile.lastModified() + ":" + coursesFile.length();
+    }
+    
+    /**
+     * Returns the precomputed analytics view if it was built from the
+     * current data files, or null if it is missing or stale.
+     */
+    public static AnalyticsSnapshot loadAnalyticsView() {
+        String currentVersion = getAnalyticsSourceVersion();
+        List<String> records = new ArrayList<>();
+        boolean fresh = false;
+        
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(ANALYTICS_FILE), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ANALYTICS_VERSION_HEADER)) {
+                    fresh = line.substring(ANALYTICS_VERSION_HEADER.length()).equals(currentVersion);
+                    if (!fresh) {
+                        return null;
+                    }
+                } else if (!line.startsWith("#") && !line.trim().isEmpty()) {
+                    // Drop the leading timestamp column
+                    int comma = line.indexOf(',');
+                    records.add(line.substring(comma + 1));
+                }
+            }
         } catch (IOException e) {
-            System.err.println("Failed to log registration: " + e.getMessage());
+            return null;
+        }
+        
+        if (!fresh) {
+            return null;
+        }
+        try {
+            return AnalyticsSnapshot.fromRecords(records);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
     
-    public static void saveAnalyticsData(String dataType, String key, String value) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(ANALYTICS_FILE, true))) {
+    // Recomputes the full analytics snapshot from the roster and stores it as the new view
+    public static AnalyticsSnapshot refreshAnalyticsView() {
+        // Read the version first so data changed mid-computation is caught as stale next time
+        String sourceVersion = getAnalyticsSourceVersion();
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.compute(loadStudents(), loadCourses());
+        saveAnalyticsView(snapshot, sourceVersion);
+        return snapshot;
+    }
+    
+    /**
+     * Replaces analytics_data.txt with one compact view of the snapshot,
+     * tagged with the source version it was computed from.
+     */
+    public static void saveAnalyticsView(AnalyticsSnapshot snapshot, String sourceVersion) {
+        try {
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            writer.println(timestamp + "," + dataType + "," + key + "," + value);
+            AtomicFileWriter.write(ANALYTICS_FILE, 0, writer -> {
+                writer.println("# Analytics Data File");
+                writer.println("# This file stores computed analytics data for faster retrieval");
+                writer.println("# Format: Timestamp,DataType,Key,Value");
+                writer.println(ANALYTICS_VERSION_HEADER + sourceVersion);
+                writer.println("");
+                for (String record : snapshot.toRecords()) {
+                    writer.println(timestamp + "," + record);
+                }
+            });
+            logActivity("System", "Saved analytics view");
         } catch (IOException e) {
             System.err.println("Failed to save analytics data: " + e.getMessage());
         }
     }
     
+    public static void logActivity(String studentId, String activity) {
+        activityLog.append(studentId + " | " + activity);
+    }
+    
+    public static void logRegistration(String studentId, String action, String courseCode, String details) {
+        registrationLog.append(studentId + "," + action + "," + courseCode + "," + details);
+    }
+    
+    // One record per course, queued as a single entry so they are written in one batch
+    public static void logRegistrations(String studentId, String action, List<Course> courses) {
+        List<String> records = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            records.add(studentId + "," + action + "," + course.getCourseCode() + "," + course.getCourseName());
+        }
+        registrationLog.appendAll(records);
+    }
+    
+    // Backdated records (StudentID,Action,CourseCode,Details); callers must pass timestamps in order
+    public static void logRegistrationsAt(long timestamp, List<String> records) throws InterruptedException {
+        registrationLog.appendAt(timestamp, records);
+    }
+    
+    // Writes out every queued log entry; safe to call more than once
+    public static void shutdown() {
+        activityLog.close();
+        registrationLog.close();
+    }
+    
     public static List<Student> loadStudents() {
+        return StudentRepository.findAll();
+    }
+    
+    // Parses students.txt from disk; StudentRepository calls this only when the file changes
+    static List<Student> readStudentsFile() {
         List<Student> students = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(STUDENTS_FILE))) {
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(STUDENTS_FILE), StandardCharsets.UTF_8)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 if (!line.startsWith("#") && !line.trim().isEmpty()) {
@@ -162,56 +268,96 @@ public class FileManager {
             }
             logActivity("System", "Loaded " + students.size() + " students from file");
         } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "File Error", 
-                     "Failed to load students data: " + e.getMessage());
+            System.err.println("Failed to load students data: " + e.getMessage());
             e.printStackTrace();
         }
         return students;
     }
     
-    public static void saveStudents(List<Student> students) {
+    public static boolean saveStudents(List<Student> students) {
         try {
-            // Create backup
-            if (Files.exists(Paths.get(STUDENTS_FILE))) {
-                Files.copy(Paths.get(STUDENTS_FILE), Paths.get(STUDENTS_FILE + ".backup"));
-            }
-            
-            try (PrintWriter writer = new PrintWriter(new FileWriter(STUDENTS_FILE))) {
-                writer.println("# Student Data Format: ID,Name,Email,Program,Semester,Password,RegisteredCourses");
-                writer.println("# Last Updated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-                writer.println("# Students registered through the application");
-                writer.println("");
-                
-                // Write admin first
-                Student admin = students.stream()
-                        .filter(s -> s.getStudentId().equals("admin"))
-                        .findFirst()
-                        .orElse(null);
-                
-                if (admin != null) {
-                    writer.println("# Admin account");
-                    writer.println(admin.toString());
-                    writer.println("");
-                }
-                
-                // Write regular students
-                writer.println("# Registered Students");
-                students.stream()
-                        .filter(s -> !s.getStudentId().equals("admin"))
-                        .forEach(student -> writer.println(student.toString()));
-            }
+            StudentRepository.saveAll(students);
             logActivity("System", "Saved " + students.size() + " students to file");
+            return true;
             
         } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "Save Error", 
-                     "Failed to save students data: " + e.getMessage());
+            System.err.println("Failed to save students data: " + e.getMessage());
             e.printStackTrace();
+            return false;
+        }
+    }
+    
+    // Adds a newly registered student without rewriting the rest of the roster
+    public static boolean addStudent(Student student) {
+        if (persistStudent(student)) {
+            logActivity(student.getStudentId(), "Student record created");
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Saves one student through the repository: a journal append in
+     * journaled mode, a full snapshot rewrite otherwise. Fails if the
+     * student was saved elsewhere since it was read; use updateStudent for
+     * changes that should be reapplied to the newer record.
+     */
+    public static boolean persistStudent(Student student) {
+        try {
+            StudentRepository.save(student);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to save student " + student.getStudentId() + ": " + e.getMessage());
+            return false;
         }
     }
     
+    static void writeStudentsFile(List<Student> students) throws IOException {
+        AtomicFileWriter.write(STUDENTS_FILE, writer -> {
+            writer.println("# Student Data Format: ID,Name,Email,Program,Semester,Password,RegisteredCourses,Version");
+            writer.println("# Last Updated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            writer.println("# Students registered through the application");
+            writer.println("");
+            
+            // Write admin first
+            Student admin = students.stream()
+                    .filter(s -> s.getStudentId().equals("admin"))
+                    .findFirst()
+                    .orElse(null);
+            
+            if (admin != null) {
+                writer.println("# Admin account");
+                writer.println(admin.toString());
+                writer.println("");
+            }
+            
+            // Write regular students
+            writer.println("# Registered Students");
+            students.stream()
+                    .filter(s -> !s.getStudentId().equals("admin"))
+                    .forEach(student -> writer.println(student.toString()));
+        });
+    }
+    
     public static List<Course> loadCourses() {
+        return new ArrayList<>(getCourseCatalog().getCourses());
+    }
+    
+    /**
+     * The parsed catalog and its conflict matrix, rebuilt only when
+     * courses.txt changes.
+     */
+    public static synchronized CourseCatalog getCourseCatalog() {
+        String version = getCoursesVersion();
+        if (courseCatalog == null || !courseCatalog.getVersion().equals(version)) {
+            courseCatalog = new CourseCatalog(version, readCoursesFile());
+        }
+        return courseCatalog;
+    }
+    
+    private static List<Course> readCoursesFile() {
         List<Course> courses = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(COURSES_FILE))) {
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(COURSES_FILE), StandardCharsets.UTF_8)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 if (!line.startsWith("#") && !line.trim().isEmpty()) {
@@ -223,42 +369,33 @@ public class FileManager {
             }
             logActivity("System", "Loaded " + courses.size() + " courses from file");
         } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "File Error", 
-                     "Failed to load courses data: " + e.getMessage());
+            System.err.println("Failed to load courses data: " + e.getMessage());
             e.printStackTrace();
         }
         return courses;
     }
     
-    public static void saveCourses(List<Course> courses) {
+    public static boolean saveCourses(List<Course> courses) {
         try {
-            // Create backup
-            if (Files.exists(Paths.get(COURSES_FILE))) {
-                Files.copy(Paths.get(COURSES_FILE), Paths.get(COURSES_FILE + ".backup"));
-            }
-            
-            try (PrintWriter writer = new PrintWriter(new FileWriter(COURSES_FILE))) {
-                writer.println("# Course Data Format: Code,Name,Instructor,Credits,Schedule");
+            AtomicFileWriter.write(COURSES_FILE, writer -> {
+                writer.println("# Course Data Format: Code,Name,Instructor,Credits,Schedule,MaxSeats");
                 writer.println("# Last Updated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
                 for (Course course : courses) {
                     writer.println(course.toString());
                 }
-            }
+            });
             logActivity("System", "Saved " + courses.size() + " courses to file");
+            return true;
             
         } catch (IOException e) {
-            showAlert(Alert.AlertType.ERROR, "Save Error", 
-                     "Failed to save courses data: " + e.getMessage());
+            System.err.println("Failed to save courses data: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
     
     public static Student findStudent(String studentId) {
-        List<Student> students = loadStudents();
-        Student found = students.stream()
-                .filter(s -> s.getStudentId().equals(studentId))
-                .findFirst()
-                .orElse(null);
+        Student found = StudentRepository.findById(studentId);
         
         if (found != null) {
             logActivity(studentId, "Student record accessed");
@@ -266,60 +403,54 @@ public class FileManager {
         return found;
     }
     
-    public static void updateStudent(Student updatedStudent) {
-        List<Student> students = loadStudents();
-        boolean updated = false;
-        
-        for (int i = 0; i < students.size(); i++) {
-            if (students.get(i).getStudentId().equals(updatedStudent.getStudentId())) {
-                students.set(i, updatedStudent);
-                updated = true;
-                break;
-            }
+    /**
+     * Applies the changes to the latest saved copy of the student, retrying
+     * if another terminal saves the same student at the same time. Returns
+     * the saved student.
+     */
+    public static Student updateStudent(String studentId, Consumer<Student> changes) throws IOException {
+        Student updated = StudentRepository.update(studentId, student -> {
+            changes.accept(student);
+            return true;
+        });
+        if (updated == null) {
+            throw new IOException("Student record " + studentId + " not found");
         }
         
-        if (updated) {
-            saveStudents(students);
-            logActivity(updatedStudent.getStudentId(), "Student record updated");
-            showAlert(Alert.AlertType.INFORMATION, "Update Successful", 
-                     "Student information has been updated successfully!");
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Update Failed", 
-                     "Failed to find student record for update.");
-        }
+        logActivity(studentId, "Student record updated");
+        return updated;
+    }
+    
+    public static boolean isEmailTaken(String email, String excludingStudentId) {
+        return StudentRepository.isEmailTaken(email, excludingStudentId);
     }
     
     public static int getTotalStudents() {
-        return (int) loadStudents().stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .count();
+        return StudentRepository.countStudents();
+    }
+    
+    public static EnrollmentStats getEnrollmentStats() {
+        return StudentRepository.getEnrollmentStats();
     }
     
     public static int getTotalCourses() {
-        return loadCourses().size();
+        return getCourseCatalog().size();
     }
     
     public static int getTotalRegistrations() {
-        return loadStudents().stream()
-                .filter(s -> !s.getStudentId().equals("admin"))
-                .mapToInt(s -> s.getRegisteredCourses().size())
-                .sum();
+        return StudentRepository.countRegistrations();
     }
     
     public static List<String> getRecentActivity() {
+        return getRecentActivity(RECENT_ACTIVITY_LINES);
+    }
+    
+    // Reads only the tail of system_logs.txt, however large the log has grown
+    public static List<String> getRecentActivity(int limit) {
+        activityLog.flush();
         List<String> activities = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(LOGS_FILE))) {
-            List<String> allLines = new ArrayList<>();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                allLines.add(line);
-            }
-            
-            // Get last 10 activities
-            int start = Math.max(0, allLines.size() - 10);
-            for (int i = start; i < allLines.size(); i++) {
-                activities.add(allLines.get(i));
-            }
+        try {
+            activities.addAll(LogTailReader.readLastLines(LOGS_FILE, limit));
         } catch (IOException e) {
             activities.add("No recent activity available");
         }
@@ -327,25 +458,52 @@ public class FileManager {
     }
     
     public static List<String> getRegistrationHistory() {
+        return getRegistrationHistory(null, null);
+    }
+    
+    // Scans only the rotated segments whose time range overlaps [from, to]; null means unbounded
+    public static List<String> getRegistrationHistory(LocalDateTime from, LocalDateTime to) {
+        registrationLog.flush();
         List<String> registrations = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(REGISTRATIONS_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.startsWith("#") && !line.trim().isEmpty()) {
-                    registrations.add(line);
-                }
-            }
+        try {
+            registrations.addAll(registrationLogFile.readLines(from, to));
         } catch (IOException e) {
             registrations.add("No registration history available");
         }
         return registrations;
     }
     
-    private static void showAlert(Alert.AlertType type, String title, String message) {
-        Alert alert = new Alert(type);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
+    /**
+     * Typed registration history. Any filter may be null. Rotated segments
+     * are narrowed by their manifest time range and the active log through
+     * its sidecar index, so only candidate records are read and parsed.
+     */
+    public static List<RegistrationEvent> queryHistory(String studentId, LocalDateTime from, LocalDateTime to, String action) {
+        registrationLog.flush();
+        List<RegistrationEvent> events = new ArrayList<>();
+        try {
+            List<RotatingLogFile.Segment> segments = new ArrayList<>();
+            List<String> activeLines = new ArrayList<>();
+            // Keeps other terminals from rolling the active log while its index is read
+            registrationLogFile.withFileLock(() -> {
+                segments.addAll(registrationLogFile.listSegments());
+                activeLines.addAll(registrationIndex.query(studentId, from, to));
+            });
+            List<String> lines = registrationLogFile.readSegmentLines(segments, from, to);
+            lines.addAll(activeLines);
+            for (String line : lines) {
+                RegistrationEvent event = RegistrationEvent.fromString(line);
+                if (event != null
+                        && (studentId == null || studentId.equals(event.getStudentId()))
+                        && (action == null || action.equalsIgnoreCase(event.getAction()))
+                        && (from == null || !event.getTimestamp().isBefore(from))
+                        && (to == null || !event.getTimestamp().isAfter(to))) {
+                    events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error querying registration history: " + e.getMessage());
+        }
+        return events;
     }
 }
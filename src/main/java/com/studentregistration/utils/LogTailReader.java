@@ -0,0 +1,79 @@
+package com.studentregistration.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the last lines of a log file by scanning backwards from the end.
+ *
+ * Only the blocks that hold the requested lines are read and decoded, so
+ * the cost depends on how many lines are asked for rather than on how
+ * large the log has grown.
+ */
+public class LogTailReader {
+    private static final int BLOCK_SIZE = 8192;
+
+    public static List<String> readLastLines(String fileName, int maxLines) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (maxLines <= 0) {
+            return lines;
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long end = channel.size();
+            long start = findStartOfTail(channel, end, maxLines);
+
+            ByteBuffer tail = ByteBuffer.allocate((int) (end - start));
+            while (tail.hasRemaining() && channel.read(tail, start + tail.position()) >= 0) {
+                // read until the buffer is full
+            }
+            tail.flip();
+
+            // '\n' never occurs inside a multi-byte UTF-8 sequence, so splitting after decoding is safe
+            for (String line : StandardCharsets.UTF_8.decode(tail).toString().split("\r?\n")) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines.size() > maxLines ? new ArrayList<>(lines.subList(lines.size() - maxLines, lines.size())) : lines;
+    }
+
+    // Offset of the first byte of the last maxLines non-blank lines
+    private static long findStartOfTail(FileChannel channel, long end, int maxLines) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        long position = end;
+        int lines = 0;
+        // Whether the line after the scan position has anything but whitespace
+        boolean blank = true;
+
+        while (position > 0) {
+            int length = (int) Math.min(BLOCK_SIZE, position);
+            position -= length;
+
+            block.clear().limit(length);
+            while (block.hasRemaining() && channel.read(block, position + block.position()) >= 0) {
+                // read until the block is full
+            }
+
+            for (int i = length - 1; i >= 0; i--) {
+                int b = block.get(i) & 0xff;
+                if (b == '\n') {
+                    if (!blank && ++lines == maxLines) {
+                        return position + i + 1;
+                    }
+                    blank = true;
+                } else if (b > ' ') {
+                    blank = false;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,104 @@
+package com.studentregistration.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Brute-force protection for logins, kept entirely in memory.
+ *
+ * Failures are counted per username and per terminal. Once a key passes
+ * its free attempts, each further failure doubles its lockout, up to
+ * MAX_LOCKOUT_MILLIS. A key that has not failed for WINDOW_MILLIS starts
+ * again from zero. Each map is an LRU capped at MAX_TRACKED entries, so a
+ * flood of made-up usernames cannot grow memory without bound.
+ */
+public class LoginThrottle {
+    public static final String LOCAL_TERMINAL = System.getProperty("registration.terminalId", "local");
+
+    static final int USERNAME_FREE_ATTEMPTS = Integer.getInteger("registration.login.userAttempts", 5);
+    static final int TERMINAL_FREE_ATTEMPTS = Integer.getInteger("registration.login.terminalAttempts", 20);
+    static final long BASE_LOCKOUT_MILLIS = Long.getLong("registration.login.baseLockoutMillis", 1000);
+    static final long MAX_LOCKOUT_MILLIS = Long.getLong("registration.login.maxLockoutMillis", 15 * 60 * 1000);
+    static final long WINDOW_MILLIS = Long.getLong("registration.login.windowMillis", 15 * 60 * 1000);
+    static final int MAX_TRACKED = Integer.getInteger("registration.login.maxTracked", 10_000);
+
+    private static final Map<String, Attempts> byUsername = newLruMap();
+    private static final Map<String, Attempts> byTerminal = newLruMap();
+
+    /**
+     * Milliseconds until the username may try again from this terminal,
+     * or 0 if the attempt may go ahead.
+     */
+    public static synchronized long getRemainingLockout(String username, String terminal) {
+        long now = System.currentTimeMillis();
+        return Math.max(remaining(byUsername.get(username), now), remaining(byTerminal.get(terminal), now));
+    }
+
+    /**
+     * Checks the lockout and, if the attempt may go ahead, counts it as a
+     * failure in the same step, so parallel attempts cannot all pass the
+     * check before any of them fails. Returns the remaining lockout if the
+     * attempt is refused, otherwise 0. A successful attempt must call
+     * recordSuccess to take its count back.
+     */
+    public static synchronized long beginAttempt(String username, String terminal) {
+        long now = System.currentTimeMillis();
+        long lockout = Math.max(remaining(byUsername.get(username), now), remaining(byTerminal.get(terminal), now));
+        if (lockout > 0) {
+            return lockout;
+        }
+        fail(byUsername, username, USERNAME_FREE_ATTEMPTS, now);
+        fail(byTerminal, terminal, TERMINAL_FREE_ATTEMPTS, now);
+        return 0;
+    }
+
+    // The terminal keeps its earlier failures, so one valid account cannot reset a password spray
+    public static synchronized void recordSuccess(String username, String terminal) {
+        byUsername.remove(username);
+        Attempts attempts = byTerminal.get(terminal);
+        if (attempts != null && attempts.failures > 0) {
+            attempts.failures--;
+            if (attempts.failures <= TERMINAL_FREE_ATTEMPTS) {
+                attempts.blockedUntil = 0;
+            }
+        }
+    }
+
+    private static long fail(Map<String, Attempts> attemptsByKey, String key, int freeAttempts, long now) {
+        Attempts attempts = attemptsByKey.get(key);
+        if (attempts == null || now - attempts.lastFailure > WINDOW_MILLIS) {
+            attempts = new Attempts();
+            attemptsByKey.put(key, attempts);
+        }
+        attempts.failures++;
+        attempts.lastFailure = now;
+
+        int excess = attempts.failures - freeAttempts;
+        if (excess <= 0) {
+            return 0;
+        }
+        // Shift is capped so the doubling cannot overflow
+        long lockout = Math.min(MAX_LOCKOUT_MILLIS, BASE_LOCKOUT_MILLIS << Math.min(excess - 1, 30));
+        attempts.blockedUntil = now + lockout;
+        return lockout;
+    }
+
+    private static long remaining(Attempts attempts, long now) {
+        return attempts == null ? 0 : Math.max(0, attempts.blockedUntil - now);
+    }
+
+    private static Map<String, Attempts> newLruMap() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Attempts> eldest) {
+                return size() > MAX_TRACKED;
+            }
+        };
+    }
+
+    private static class Attempts {
+        int failures;
+        long lastFailure;
+        long blockedUntil;
+    }
+}
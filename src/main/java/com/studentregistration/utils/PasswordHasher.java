@@ -0,0 +1,85 @@
+package com.studentregistration.utils;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PBKDF2-HMAC-SHA256 password hashing.
+ *
+ * The cost is set with registration.password.iterations. Every stored hash
+ * keeps the iteration count it was made with, so the cost can be changed
+ * without invalidating existing passwords. Run main to time a range of
+ * costs on the target machine before changing it.
+ */
+public class PasswordHasher {
+    public static final int ITERATIONS = Integer.getInteger("registration.password.iterations", 120_000);
+    static final int SALT_BYTES = 16;
+    static final int HASH_BITS = 256;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final SecureRandom random = new SecureRandom();
+
+    // SecretKeyFactory is not thread-safe and its provider lookup is not free
+    private static final ThreadLocal<SecretKeyFactory> factory = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    public static byte[] newSalt() {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        return salt;
+    }
+
+    public static byte[] hash(String password, byte[] salt, int iterations) {
+        char[] chars = password.toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, HASH_BITS);
+        try {
+            return factory.get().generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing failed", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    // Constant-time, so the comparison does not leak how many bytes matched
+    public static boolean matches(String password, byte[] salt, int iterations, byte[] expectedHash) {
+        return MessageDigest.isEqual(hash(password, salt, iterations), expectedHash);
+    }
+
+    /**
+     * Times one hash at each cost given on the command line (default
+     * 10000 to 600000) and prints the single-core login throughput.
+     */
+    public static void main(String[] args) {
+        int[] costs = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {10_000, 60_000, 120_000, 210_000, 600_000};
+        byte[] salt = newSalt();
+
+        // Warm up the JIT so the first cost is not penalised
+        for (int i = 0; i < 20; i++) {
+            hash("warm-up", salt, 10_000);
+        }
+
+        System.out.printf("%-12s %12s %14s%n", "Iterations", "ms/hash", "logins/s/core");
+        for (int cost : costs) {
+            int rounds = Math.max(5, 2_000_000 / cost);
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                hash("benchmark-password", salt, cost);
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / rounds;
+            System.out.printf("%-12d %12.2f %14.1f%n", cost, millis, 1000.0 / millis);
+        }
+    }
+}
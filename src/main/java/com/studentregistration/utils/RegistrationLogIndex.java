@@ -0,0 +1,276 @@
+package com.studentregistration.utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sidecar index over the active registrations.txt.
+ *
+ * Index Format: Offset,Length,Day,StudentID (one row per log record)
+ *
+ * The index is kept in registrations.idx and caught up incrementally from
+ * the last indexed byte, so each query only parses records written since
+ * the previous one. Queries by student seek straight to that student's
+ * records; queries by time range read only the days that overlap. When
+ * the log is rotated the file key changes and the index is rebuilt.
+ *
+ * Several terminals share the sidecar. Catching up happens under an
+ * exclusive lock on registrations.idx.lock, after reading the rows other
+ * terminals appended, so each record is indexed once. A rebuilt sidecar
+ * replaces the file, which every terminal notices by its file key.
+ */
+public class RegistrationLogIndex {
+    private static final String FILE_KEY_HEADER = "# File Key: ";
+    private static final int TIMESTAMP_LENGTH = 19;
+
+    private final File logFile;
+    private final File indexFile;
+    private final File lockFile;
+
+    private final Map<String, List<long[]>> recordsByStudent = new HashMap<>();
+    // Day -> offset of its first record; records are appended in time order
+    private final TreeMap<LocalDate, Long> firstOffsetByDay = new TreeMap<>();
+    private String fileKey;
+    private long indexedLength;
+    // Which sidecar file was read, and how far
+    private String sidecarKey;
+    private long sidecarLength;
+
+    public RegistrationLogIndex(String logFileName) {
+        this.logFile = new File(logFileName);
+        String name = logFile.getName();
+        String baseName = name.endsWith(".txt") ? name.substring(0, name.length() - 4) : name;
+        this.indexFile = new File(logFile.getParentFile(), baseName + ".idx");
+        this.lockFile = new File(logFile.getParentFile(), baseName + ".idx.lock");
+    }
+
+    /**
+     * Returns the raw log lines for the student (or everyone when studentId
+     * is null) between from and to, both optional, oldest first.
+     */
+    public synchronized List<String> query(String studentId, LocalDateTime from, LocalDateTime to) throws IOException {
+        catchUp();
+        List<String> lines = new ArrayList<>();
+        if (!logFile.exists()) {
+            return lines;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+            if (studentId != null) {
+                for (long[] record : recordsByStudent.getOrDefault(studentId, List.of())) {
+                    lines.add(readRecord(file, record[0], (int) record[1]));
+                }
+            } else {
+                long start = 0;
+                long end = indexedLength;
+                if (from != null) {
+                    Map.Entry<LocalDate, Long> first = firstOffsetByDay.ceilingEntry(from.toLocalDate());
+                    start = first != null ? first.getValue() : indexedLength;
+                }
+                if (to != null) {
+                    Map.Entry<LocalDate, Long> after = firstOffsetByDay.higherEntry(to.toLocalDate());
+                    end = after != null ? after.getValue() : indexedLength;
+                }
+                if (end > start) {
+                    String block = readRecord(file, start, (int) (end - start));
+                    for (String line : block.split("\r?\n")) {
+                        if (!line.startsWith("#") && !line.trim().isEmpty()) {
+                            lines.add(line);
+                        }
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    // Indexes whatever was appended to the log since the last call, here or in another terminal
+    @SuppressWarnings("try") // The lock only has to be held, never referenced
+    private void catchUp() throws IOException {
+        try (RandomAccessFile access = new RandomAccessFile(lockFile, "rw");
+             FileChannel channel = access.getChannel();
+             FileLock lock = FileLocks.lock(channel)) {
+            readSidecar();
+            String currentKey = fileKey(logFile);
+            long length = logFile.length();
+            if (!currentKey.equals(fileKey) || length < indexedLength) {
+                reset(currentKey);
+            }
+            if (length == indexedLength) {
+                return;
+            }
+            appendToSidecar(indexNewRecords());
+        }
+    }
+
+    // Parses the log from the last indexed byte and returns the sidecar rows for the new records
+    private List<String> indexNewRecords() throws IOException {
+        List<String> newRows = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(logFile))) {
+            in.skipNBytes(indexedLength);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            long offset = indexedLength;
+            long lineStart = offset;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b == '\n') {
+                    String text = line.toString(StandardCharsets.UTF_8);
+                    int recordLength = (int) (offset - lineStart);
+                    String row = indexLine(text, lineStart, recordLength);
+                    if (row != null) {
+                        newRows.add(row);
+                    }
+                    indexedLength = offset;
+                    line.reset();
+                    lineStart = offset;
+                } else {
+                    line.write(b);
+                }
+            }
+            // A trailing partial line is left for the next catch-up
+        }
+        return newRows;
+    }
+
+    private void appendToSidecar(List<String> rows) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(indexFile, StandardCharsets.UTF_8, true))) {
+            for (String row : rows) {
+                writer.println(row);
+            }
+        }
+        sidecarLength = indexFile.length();
+    }
+
+    // Adds one record to the in-memory maps and returns its sidecar row, or null if it is not a record
+    private String indexLine(String line, long offset, int length) {
+        if (line.startsWith("#") || line.length() < TIMESTAMP_LENGTH) {
+            return null;
+        }
+        String[] parts = line.split(",", 3);
+        if (parts.length < 3) {
+            return null;
+        }
+        LocalDate day;
+        try {
+            day = LocalDate.parse(parts[0].substring(0, 10));
+        } catch (RuntimeException e) {
+            return null;
+        }
+        add(offset, length, day, parts[1]);
+        return offset + "," + length + "," + day + "," + parts[1];
+    }
+
+    private void add(long offset, int length, LocalDate day, String studentId) {
+        recordsByStudent.computeIfAbsent(studentId, id -> new ArrayList<>()).add(new long[] {offset, length});
+        firstOffsetByDay.putIfAbsent(day, offset);
+    }
+
+    // Reads the rows appended to the sidecar since the last read, starting over if it was rebuilt
+    private void readSidecar() throws IOException {
+        if (!indexFile.exists()) {
+            clear();
+            sidecarKey = null;
+            return;
+        }
+        String key = fileKey(indexFile);
+        long length = indexFile.length();
+        if (!key.equals(sidecarKey) || length < sidecarLength) {
+            clear();
+            sidecarKey = key;
+            sidecarLength = 0;
+        }
+        if (length == sidecarLength) {
+            return;
+        }
+
+        byte[] bytes = new byte[(int) (length - sidecarLength)];
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "r")) {
+            file.seek(sidecarLength);
+            file.readFully(bytes);
+        }
+        try {
+            for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                readSidecarRow(line);
+            }
+        } catch (RuntimeException e) {
+            // A damaged sidecar is simply rebuilt from the log
+            clear();
+        }
+        sidecarLength = length;
+    }
+
+    private void readSidecarRow(String line) {
+        if (line.startsWith(FILE_KEY_HEADER)) {
+            fileKey = line.substring(FILE_KEY_HEADER.length()).trim();
+            return;
+        }
+        String[] parts = line.trim().split(",", 4);
+        if (parts.length != 4) {
+            return;
+        }
+        long offset = Long.parseLong(parts[0]);
+        int length = Integer.parseInt(parts[1]);
+        // Rows run in log order, so one that starts before the indexed end is a duplicate
+        if (offset < indexedLength) {
+            return;
+        }
+        add(offset, length, LocalDate.parse(parts[2]), parts[3]);
+        indexedLength = offset + length;
+    }
+
+    private void clear() {
+        recordsByStudent.clear();
+        firstOffsetByDay.clear();
+        indexedLength = 0;
+        fileKey = null;
+    }
+
+    // Replaces the sidecar, so other terminals see a new file key and start over too
+    private void reset(String currentKey) throws IOException {
+        clear();
+        fileKey = currentKey;
+        AtomicFileWriter.write(indexFile.getPath(), 0, writer -> {
+            writer.println("# Registration Index Format: Offset,Length,Day,StudentID");
+            writer.println(FILE_KEY_HEADER + currentKey);
+        });
+        sidecarKey = fileKey(indexFile);
+        sidecarLength = indexFile.length();
+    }
+
+    // Identifies the physical file, so a rotated-in replacement is detected
+    private static String fileKey(File file) throws IOException {
+        if (!file.exists()) {
+            return "missing";
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        Object key = attributes.fileKey();
+        return key != null ? key.toString() : String.valueOf(attributes.creationTime().toMillis());
+    }
+
+    private static String readRecord(RandomAccessFile file, long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        file.seek(offset);
+        file.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8).stripTrailing();
+    }
+}
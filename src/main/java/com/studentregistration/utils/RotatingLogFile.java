@@ -0,0 +1,425 @@
+package com.studentregistration.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An append-only log split into segments.
+ *
+ * The active file keeps its usual name. It is rolled when it passes
+ * registration.log.maxBytes or when the first entry of a new day arrives.
+ * Rolled segments are gzipped in the background as name.yyyy-MM-dd.N.txt.gz
+ * and listed in name.manifest with the first and last timestamp they
+ * hold, so range readers open only the segments that overlap the range.
+ *
+ * Every line is expected to start with a "yyyy-MM-dd HH:mm:ss" timestamp,
+ * which also makes timestamps comparable as plain strings.
+ *
+ * Several terminals may append to the same file. Writers hold an exclusive
+ * lock on name.lock while they check for a roll and append, and first
+ * catch up with whatever other terminals wrote or rolled in the meantime.
+ */
+public class RotatingLogFile {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int TIMESTAMP_LENGTH = 19;
+
+    static final long MAX_BYTES = Long.getLong("registration.log.maxBytes", 10L * 1024 * 1024);
+    static final boolean ROLL_DAILY = Boolean.parseBoolean(System.getProperty("registration.log.rollDaily", "true"));
+
+    private static final ExecutorService compressionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compression");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File activeFile;
+    private final File manifestFile;
+    private final File lockFile;
+    private final String header;
+    private final String baseName;
+
+    // Rolled segments still being compressed; readers scan them uncompressed
+    private final List<Segment> pendingSegments = new ArrayList<>();
+    // FileChannel locks belong to the whole process, so the writer and compression threads queue here first
+    private final Object fileLockGuard = new Object();
+
+    private LocalDate activeDay;
+    private String firstTimestamp;
+    private String lastTimestamp;
+    // UTF-8 bytes in the active file
+    private long activeBytes;
+
+    /**
+     * @param header comment lines written at the top of every new active
+     *               file, or null for none
+     */
+    public RotatingLogFile(String fileName, String header) {
+        this.activeFile = new File(fileName);
+        this.header = header;
+        String name = activeFile.getName();
+        this.baseName = name.endsWith(".txt") ? name.substring(0, name.length() - 4) : name;
+        this.manifestFile = new File(activeFile.getParentFile(), baseName + ".manifest");
+        this.lockFile = new File(activeFile.getParentFile(), baseName + ".lock");
+
+        readActiveState();
+        recoverUncompressedSegments();
+    }
+
+    public String getFileName() {
+        return activeFile.getPath();
+    }
+
+    public static String formatTimestamp(long timestamp) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).format(TIMESTAMP_FORMAT);
+    }
+
+    /**
+     * Runs the work holding the file lock, after taking over the size and
+     * timestamps of whatever other terminals appended or rolled. Writers
+     * call shouldRoll, roll, openForAppend and recordWrite inside it.
+     */
+    @SuppressWarnings("try") // The lock only has to be held, never referenced
+    void withFileLock(LockedWork work) throws IOException {
+        synchronized (fileLockGuard) {
+            try (RandomAccessFile access = new RandomAccessFile(lockFile, "rw");
+                 FileChannel channel = access.getChannel();
+                 FileLock lock = FileLocks.lock(channel)) {
+                if (activeFile.length() != activeBytes) {
+                    readActiveState();
+                }
+                work.run();
+            }
+        }
+    }
+
+    // Called by the writer thread before each entry
+    synchronized boolean shouldRoll(long timestamp) {
+        if (activeBytes == 0) {
+            return false;
+        }
+        if (activeBytes >= MAX_BYTES) {
+            return true;
+        }
+        return ROLL_DAILY && activeDay != null && !activeDay.equals(toDay(timestamp));
+    }
+
+    synchronized PrintWriter openForAppend() throws IOException {
+        if (activeFile.getParentFile() != null) {
+            activeFile.getParentFile().mkdirs();
+        }
+        boolean isNew = !activeFile.exists() || activeFile.length() == 0;
+        PrintWriter writer = new PrintWriter(new FileWriter(activeFile, StandardCharsets.UTF_8, true));
+        if (isNew && header != null) {
+            writer.println(header);
+            activeBytes += utf8Length(header) + System.lineSeparator().length();
+        }
+        return writer;
+    }
+
+    synchronized void recordWrite(long timestamp, String line) {
+        String formatted = formatTimestamp(timestamp);
+        if (firstTimestamp == null) {
+            firstTimestamp = formatted;
+        }
+        lastTimestamp = formatted;
+        activeDay = toDay(timestamp);
+        activeBytes += utf8Length(line) + System.lineSeparator().length();
+    }
+
+    // Moves the active file aside and compresses it in the background
+    synchronized void roll() {
+        if (!activeFile.exists()) {
+            return;
+        }
+        LocalDate day = activeDay != null ? activeDay : LocalDate.now();
+        File rolled = nextSegmentFile(day);
+        if (!activeFile.renameTo(rolled)) {
+            System.err.println("Failed to roll " + activeFile + ", will retry on the next write");
+            return;
+        }
+
+        String last = lastTimestamp != null ? lastTimestamp : formatTimestamp(rolled.lastModified());
+        Segment segment = new Segment(rolled, firstTimestamp != null ? firstTimestamp : last, last);
+        pendingSegments.add(segment);
+        firstTimestamp = null;
+        lastTimestamp = null;
+        activeDay = null;
+        activeBytes = 0;
+
+        compressionExecutor.submit(() -> compress(segment));
+    }
+
+    /**
+     * Returns the log lines whose timestamp falls in [from, to], oldest
+     * first. Either bound may be null. Only segments whose manifest range
+     * overlaps the request are opened.
+     */
+    public List<String> readLines(LocalDateTime from, LocalDateTime to) throws IOException {
+        String fromKey = from != null ? from.format(TIMESTAMP_FORMAT) : null;
+        String toKey = to != null ? to.format(TIMESTAMP_FORMAT) : null;
+
+        List<Segment> segments = new ArrayList<>();
+        List<String> activeLines = new ArrayList<>();
+        // Held so another terminal cannot roll the active file between listing and reading it
+        withFileLock(() -> {
+            segments.addAll(listSegments());
+            if (activeFile.exists()) {
+                try (BufferedReader reader = new BufferedReader(new FileReader(activeFile, StandardCharsets.UTF_8))) {
+                    collect(reader, fromKey, toKey, activeLines);
+                }
+            }
+        });
+        // Rolled segments never change, so they are read after the lock is released
+        List<String> lines = readSegmentLines(segments, from, to);
+        lines.addAll(activeLines);
+        return lines;
+    }
+
+    /**
+     * The rolled segments, oldest first. Callers that read the active file
+     * through their own index list them under withFileLock, together with
+     * that read, and pass them to readSegmentLines after releasing it.
+     */
+    synchronized List<Segment> listSegments() throws IOException {
+        // Read both under the monitor so a segment finishing compression is not listed twice
+        List<Segment> segments = readManifest();
+        segments.addAll(pendingSegments);
+        return segments;
+    }
+
+    List<String> readSegmentLines(List<Segment> segments, LocalDateTime from, LocalDateTime to) throws IOException {
+        String fromKey = from != null ? from.format(TIMESTAMP_FORMAT) : null;
+        String toKey = to != null ? to.format(TIMESTAMP_FORMAT) : null;
+
+        List<String> lines = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.overlaps(fromKey, toKey)) {
+                readSegment(segment, fromKey, toKey, lines);
+            }
+        }
+        return lines;
+    }
+
+    private void readSegment(Segment segment, String fromKey, String toKey, List<String> lines) throws IOException {
+        File file = segment.file;
+        boolean compressed = file.getName().endsWith(".gz");
+        if (!file.exists() && !compressed) {
+            // Compression finished while we were reading the manifest
+            file = new File(file.getPath() + ".gz");
+            compressed = true;
+        }
+        if (!file.exists()) {
+            return;
+        }
+        try (Reader source = compressed
+                ? new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8)
+                : new FileReader(file, StandardCharsets.UTF_8);
+             BufferedReader reader = new BufferedReader(source)) {
+            collect(reader, fromKey, toKey, lines);
+        }
+    }
+
+    private static void collect(BufferedReader reader, String fromKey, String toKey, List<String> lines) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("#") || line.trim().isEmpty()) {
+                continue;
+            }
+            String timestamp = line.length() >= TIMESTAMP_LENGTH ? line.substring(0, TIMESTAMP_LENGTH) : line;
+            if ((fromKey == null || timestamp.compareTo(fromKey) >= 0)
+                    && (toKey == null || timestamp.compareTo(toKey) <= 0)) {
+                lines.add(line);
+            }
+        }
+    }
+
+    private void compress(Segment segment) {
+        File compressed = new File(segment.file.getPath() + ".gz");
+        File temp = new File(segment.file.getPath() + ".gz.tmp");
+        try {
+            try (FileInputStream in = new FileInputStream(segment.file);
+                 FileOutputStream fileOut = new FileOutputStream(temp);
+                 GZIPOutputStream out = new GZIPOutputStream(fileOut)) {
+                in.transferTo(out);
+                out.finish();
+                fileOut.getFD().sync();
+            }
+            // Another terminal that started up meanwhile may have compressed the same segment
+            withFileLock(() -> {
+                synchronized (this) {
+                    if (segment.file.exists() && !compressed.exists()) {
+                        Files.move(temp.toPath(), compressed.toPath());
+                        appendToManifest(new Segment(compressed, segment.firstTimestamp, segment.lastTimestamp));
+                        Files.delete(segment.file.toPath());
+                    }
+                    pendingSegments.remove(segment);
+                }
+            });
+        } catch (IOException e) {
+            synchronized (this) {
+                if (!segment.file.exists()) {
+                    // Compressed by another terminal before this one could read it
+                    pendingSegments.remove(segment);
+                    return;
+                }
+            }
+            // The uncompressed segment stays in pendingSegments and remains readable
+            System.err.println("Failed to compress " + segment.file + ": " + e.getMessage());
+        } finally {
+            temp.delete();
+        }
+    }
+
+    // Size and timestamps of the active file as it is on disk
+    private synchronized void readActiveState() {
+        activeBytes = activeFile.length();
+        lastTimestamp = null;
+        firstTimestamp = activeBytes > 0 ? readFirstTimestamp(activeFile) : null;
+        if (firstTimestamp != null) {
+            activeDay = LocalDate.parse(firstTimestamp.substring(0, 10));
+        } else {
+            activeDay = activeBytes > 0
+                    ? LocalDate.ofInstant(Instant.ofEpochMilli(activeFile.lastModified()), ZoneId.systemDefault())
+                    : null;
+        }
+    }
+
+    private void appendToManifest(Segment segment) throws IOException {
+        boolean isNew = !manifestFile.exists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(manifestFile, StandardCharsets.UTF_8, true))) {
+            if (isNew) {
+                writer.println("# Segment Manifest Format: File,FirstTimestamp,LastTimestamp");
+            }
+            writer.println(segment.file.getName() + "," + segment.firstTimestamp + "," + segment.lastTimestamp);
+        }
+    }
+
+    private synchronized List<Segment> readManifest() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        if (!manifestFile.exists()) {
+            return segments;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(manifestFile, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (!line.startsWith("#") && parts.length == 3) {
+                    segments.add(new Segment(new File(manifestFile.getParentFile(), parts[0]), parts[1], parts[2]));
+                }
+            }
+        }
+        return segments;
+    }
+
+    // Picks up segments that were rolled but not compressed before the last shutdown
+    private void recoverUncompressedSegments() {
+        File[] rolled = activeFile.getAbsoluteFile().getParentFile()
+                .listFiles((dir, name) -> name.startsWith(baseName + ".") && name.endsWith(".txt")
+                        && !name.equals(activeFile.getName()));
+        if (rolled == null) {
+            return;
+        }
+        for (File file : rolled) {
+            String last = formatTimestamp(file.lastModified());
+            String first = readFirstTimestamp(file);
+            Segment segment = new Segment(file, first != null ? first : last, last);
+            pendingSegments.add(segment);
+            compressionExecutor.submit(() -> compress(segment));
+        }
+    }
+
+    private File nextSegmentFile(LocalDate day) {
+        int sequence = 1;
+        File candidate;
+        do {
+            String name = baseName + "." + day + "." + sequence + ".txt";
+            candidate = new File(activeFile.getParentFile(), name);
+            sequence++;
+        } while (candidate.exists() || new File(candidate.getPath() + ".gz").exists());
+        return candidate;
+    }
+
+    // Encoded size without encoding, since this runs for every line written
+    static int utf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static LocalDate toDay(long timestamp) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+
+    private static String readFirstTimestamp(File file) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("#") && line.length() >= TIMESTAMP_LENGTH) {
+                    String timestamp = line.substring(0, TIMESTAMP_LENGTH);
+                    LocalDateTime.parse(timestamp, TIMESTAMP_FORMAT);
+                    return timestamp;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Fall back to the file's modification date
+        }
+        return null;
+    }
+
+    interface LockedWork {
+        void run() throws IOException;
+    }
+
+    static class Segment {
+        final File file;
+        final String firstTimestamp;
+        final String lastTimestamp;
+
+        Segment(File file, String firstTimestamp, String lastTimestamp) {
+            this.file = file;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+        }
+
+        boolean overlaps(String fromKey, String toKey) {
+            return (fromKey == null || lastTimestamp.compareTo(fromKey) >= 0)
+                    && (toKey == null || firstTimestamp.compareTo(toKey) <= 0);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Course;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Taken seats per course, as seen by this process.
+ *
+ * Each course has its own AtomicInteger, seeded from the enrollment counts
+ * on first use. A reservation is a compare-and-set against the course's
+ * maxSeats, so registrations for different courses never wait on each
+ * other. A seat is reserved before the student record is saved and
+ * released if the save fails or the course is dropped.
+ *
+ * Other terminals keep their own counters, so this is only a quick first
+ * check: the counters are seeded again whenever the student files change,
+ * and the seat limit itself is enforced when the record is saved, against
+ * the whole roster under its file lock.
+ */
+public class SeatLedger {
+    private static final Map<String, AtomicInteger> takenByCourse = new ConcurrentHashMap<>();
+    // Student files the counters were seeded from
+    private static volatile String seededVersion = "";
+
+    // False if the course is full
+    public static boolean reserve(Course course) {
+        AtomicInteger taken = counter(course.getCourseCode());
+        if (!course.hasSeatLimit()) {
+            taken.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = taken.get();
+            if (current >= course.getMaxSeats()) {
+                return false;
+            }
+            if (taken.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public static void release(String courseCode) {
+        counter(courseCode).updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    public static int getTaken(String courseCode) {
+        return counter(courseCode).get();
+    }
+
+    // -1 when the course has no limit
+    public static int getAvailable(Course course) {
+        if (!course.hasSeatLimit()) {
+            return -1;
+        }
+        return Math.max(0, course.getMaxSeats() - getTaken(course.getCourseCode()));
+    }
+
+    private static AtomicInteger counter(String courseCode) {
+        String version = StudentRepository.getSourceVersion();
+        if (!version.equals(seededVersion)) {
+            reseed(version);
+        }
+        AtomicInteger taken = takenByCourse.get(courseCode);
+        if (taken != null) {
+            return taken;
+        }
+        return takenByCourse.computeIfAbsent(courseCode, code -> new AtomicInteger(StudentRepository.countEnrolled(code)));
+    }
+
+    // Drops every counter so each is seeded again from the changed roster
+    private static synchronized void reseed(String version) {
+        if (!version.equals(seededVersion)) {
+            takenByCourse.clear();
+            seededVersion = version;
+        }
+    }
+}
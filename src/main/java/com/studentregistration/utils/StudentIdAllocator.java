@@ -0,0 +1,118 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hands out student IDs in the form STU000000.
+ *
+ * data/id_sequence holds the next number no terminal has reserved yet. A
+ * terminal reserves a block of BLOCK_SIZE numbers at a time under an
+ * exclusive file lock and then allocates from memory, so terminals never
+ * collide and most allocations touch no file at all. Numbers left in a
+ * block when the application exits are skipped, never reused.
+ *
+ * If the sequence file exists but holds no number, other terminals may
+ * still be allocating from blocks that never reached students.txt, so the
+ * sequence restarts RECOVERY_GAP numbers above the highest saved ID rather
+ * than right after it.
+ */
+public class StudentIdAllocator {
+    static final String SEQUENCE_FILE = FileManager.STUDENTS_FILE.replace("students.txt", "id_sequence");
+    static final int BLOCK_SIZE = Integer.getInteger("registration.idBlockSize", 20);
+    static final long FIRST_NUMBER = 100_000;
+    static final int MAX_TERMINALS = Integer.getInteger("registration.maxTerminals", 100);
+    static final long RECOVERY_GAP = (long) BLOCK_SIZE * MAX_TERMINALS;
+
+    private static final String PREFIX = "STU";
+    private static final String HEADER = "# Next unreserved student number";
+
+    private static long next;
+    private static long blockEnd;
+
+    public static synchronized String nextId() throws IOException {
+        String studentId;
+        do {
+            if (next >= blockEnd) {
+                reserveBlock();
+            }
+            studentId = format(next++);
+            // Only rows added to students.txt by hand can already hold a reserved number
+        } while (StudentRepository.exists(studentId));
+        return studentId;
+    }
+
+    static String format(long number) {
+        return String.format("%s%06d", PREFIX, number);
+    }
+
+    @SuppressWarnings("try") // The lock only has to be held, never referenced
+    private static void reserveBlock() throws IOException {
+        File file = new File(SEQUENCE_FILE);
+        boolean created = !file.exists();
+        try (RandomAccessFile access = new RandomAccessFile(file, "rw");
+             FileChannel channel = access.getChannel();
+             FileLock lock = FileLocks.lock(channel)) {
+            long start = readNext(channel);
+            if (start < 0) {
+                start = firstUnusedNumber();
+                if (!created) {
+                    System.err.println(SEQUENCE_FILE + " holds no number; restarting student IDs at "
+                            + format(start + RECOVERY_GAP) + " to skip blocks other terminals may hold");
+                    start += RECOVERY_GAP;
+                }
+            }
+            long end = start + BLOCK_SIZE;
+
+            // Overwritten in place, then trimmed, so a crash never leaves the file empty
+            byte[] content = (HEADER + System.lineSeparator() + end + System.lineSeparator())
+                    .getBytes(StandardCharsets.UTF_8);
+            channel.write(ByteBuffer.wrap(content), 0);
+            channel.truncate(content.length);
+            channel.force(true);
+
+            next = start;
+            blockEnd = end;
+        }
+    }
+
+    // Returns -1 when the file is new or unreadable
+    private static long readNext(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 4096));
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // read the whole file
+        }
+        for (String line : new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).split("\r?\n")) {
+            if (!line.startsWith("#") && !line.trim().isEmpty()) {
+                try {
+                    return Long.parseLong(line.trim());
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Starts the sequence above every existing ID, including the old four-digit ones
+    private static long firstUnusedNumber() {
+        long highest = FIRST_NUMBER - 1;
+        for (Student student : StudentRepository.findAll()) {
+            String studentId = student.getStudentId();
+            if (studentId.startsWith(PREFIX)) {
+                try {
+                    highest = Math.max(highest, Long.parseLong(studentId.substring(PREFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not a numbered ID
+                }
+            }
+        }
+        return highest + 1;
+    }
+}
@@ -0,0 +1,175 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Student;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only journal of student changes.
+ *
+ * Journal Format: Action,StudentID,Payload
+ * Actions: UPSERT (payload is the full student line), ADD_COURSE, REMOVE_COURSE,
+ * VERSION (the record's version after a course-only change)
+ *
+ * students.txt is the last compacted snapshot; the current roster is the
+ * snapshot with students.journal.compacting (a compaction in progress) and
+ * students.journal replayed on top, in that order.
+ */
+public class StudentJournal {
+    static final String JOURNAL_FILE = FileManager.STUDENTS_FILE.replace(".txt", ".journal");
+    static final String COMPACTING_FILE = JOURNAL_FILE + ".compacting";
+
+    static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("registration.journal", "true"));
+    static final long COMPACT_THRESHOLD_BYTES =
+            Long.getLong("registration.journal.compactBytes", 256 * 1024);
+
+    private static final String UPSERT = "UPSERT";
+    private static final String ADD_COURSE = "ADD_COURSE";
+    private static final String REMOVE_COURSE = "REMOVE_COURSE";
+    private static final String VERSION = "VERSION";
+
+    // Builds the smallest set of records that turns previous into updated
+    static List<String> diff(Student previous, Student updated) {
+        List<String> records = new ArrayList<>();
+        String studentId = updated.getStudentId();
+
+        if (previous == null || !sameProfile(previous, updated)) {
+            records.add(UPSERT + "," + studentId + "," + updated);
+            return records;
+        }
+
+        for (String courseCode : previous.getRegisteredCourses()) {
+            if (!updated.getRegisteredCourses().contains(courseCode)) {
+                records.add(REMOVE_COURSE + "," + studentId + "," + courseCode);
+            }
+        }
+        for (String courseCode : updated.getRegisteredCourses()) {
+            if (!previous.getRegisteredCourses().contains(courseCode)) {
+                records.add(ADD_COURSE + "," + studentId + "," + courseCode);
+            }
+        }
+        if (updated.getVersion() != previous.getVersion()) {
+            records.add(VERSION + "," + studentId + "," + updated.getVersion());
+        }
+        return records;
+    }
+
+    static void append(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder batch = new StringBuilder();
+        for (String record : records) {
+            batch.append(record).append(System.lineSeparator());
+        }
+        try (FileOutputStream out = new FileOutputStream(JOURNAL_FILE, true)) {
+            out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+    }
+
+    // Replays the in-progress compaction file and then the live journal onto the snapshot
+    static void replay(Map<String, Student> students) {
+        replayFile(new File(COMPACTING_FILE), students);
+        replayFile(new File(JOURNAL_FILE), students);
+    }
+
+    static boolean needsCompaction() {
+        return new File(JOURNAL_FILE).length() > COMPACT_THRESHOLD_BYTES;
+    }
+
+    /**
+     * Moves the live journal aside so new records go to a fresh file while
+     * the snapshot is rewritten. Returns false if an earlier compaction left
+     * its file behind; that file is kept until the next snapshot lands.
+     */
+    static boolean beginCompaction() {
+        File compacting = new File(COMPACTING_FILE);
+        if (compacting.exists()) {
+            return false;
+        }
+        return new File(JOURNAL_FILE).renameTo(compacting);
+    }
+
+    static void finishCompaction() {
+        new File(COMPACTING_FILE).delete();
+    }
+
+    // Drops both journal files once a full snapshot has been written
+    static void clear() {
+        new File(COMPACTING_FILE).delete();
+        new File(JOURNAL_FILE).delete();
+    }
+
+    private static void replayFile(File file, Map<String, Student> students) {
+        if (!file.exists()) {
+            return;
+        }
+        int replayed = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty() && apply(line, students)) {
+                    replayed++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to replay journal " + file.getName() + ": " + e.getMessage());
+        }
+        FileManager.logActivity("System", "Replayed " + replayed + " journal records from " + file.getName());
+    }
+
+    private static boolean apply(String record, Map<String, Student> students) {
+        String[] parts = record.split(",", 3);
+        if (parts.length < 3) {
+            // A torn final line from a crash mid-append; everything before it is intact
+            return false;
+        }
+        String action = parts[0];
+        String studentId = parts[1];
+
+        if (action.equals(UPSERT)) {
+            Student student = Student.fromString(parts[2]);
+            if (student == null) {
+                return false;
+            }
+            students.put(studentId, student);
+            return true;
+        }
+
+        Student student = students.get(studentId);
+        if (student == null) {
+            return false;
+        }
+        if (action.equals(ADD_COURSE)) {
+            student.addCourse(parts[2]);
+        } else if (action.equals(REMOVE_COURSE)) {
+            student.removeCourse(parts[2]);
+        } else if (action.equals(VERSION)) {
+            try {
+                student.setVersion(Long.parseLong(parts[2].trim()));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean sameProfile(Student a, Student b) {
+        return a.getName().equals(b.getName())
+                && a.getEmail().equals(b.getEmail())
+                && a.getProgram().equals(b.getProgram())
+                && a.getSemester().equals(b.getSemester())
+                && a.getPassword().equals(b.getPassword());
+    }
+}
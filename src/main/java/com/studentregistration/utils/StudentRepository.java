@@ -0,0 +1,405 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * In-memory view of students.txt.
+ *
+ * The file is parsed once and kept in a map keyed by student ID with a
+ * secondary, case-insensitive email index. It is only re-read when its modification time or
+ * size changes, so lookups stay constant time as the roster grows.
+ * Callers always receive copies, so editing a returned student never
+ * changes the cache until it is saved.
+ *
+ * In journaled mode (the default) single-student saves append a few
+ * records to StudentJournal instead of rewriting the whole file, and the
+ * snapshot is compacted on a background thread once the journal grows
+ * past its threshold.
+ *
+ * Several terminals may share one data directory. Every record carries a
+ * version, and a save only succeeds if it was based on the version that is
+ * current on disk; the check and the write happen under an exclusive lock
+ * on students.lock, which is held for the commit only. update() applies a
+ * change under that lock to the record as it is on disk, so it never
+ * conflicts, and its checks can rely on the roster-wide counts.
+ */
+public class StudentRepository {
+    private static final Map<String, Student> studentsById = new LinkedHashMap<>();
+    // Keyed by emailKey, so addresses differing only in case collide
+    private static final Map<String, String> studentIdsByEmail = new HashMap<>();
+
+    static final String LOCK_FILE = FileManager.STUDENTS_FILE.replace(".txt", ".lock");
+
+    // FileChannel locks belong to the whole process, so threads in this JVM queue here first
+    private static final Object fileLockGuard = new Object();
+
+    // Serializes full snapshot writes so a background compaction never overwrites a newer save
+    private static final Object snapshotLock = new Object();
+    private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static boolean compactionRunning;
+
+    private static final String[] TRACKED_FILES = {
+        FileManager.STUDENTS_FILE, StudentJournal.COMPACTING_FILE, StudentJournal.JOURNAL_FILE
+    };
+    private static final long[] loadedStamps = new long[TRACKED_FILES.length * 2];
+    private static boolean loaded;
+
+    private static final EnrollmentStats enrollmentStats = new EnrollmentStats();
+
+    public static synchronized Student findById(String studentId) {
+        refreshIfStale();
+        Student student = studentsById.get(studentId);
+        return student != null ? student.copy() : null;
+    }
+
+    public static synchronized Student findByEmail(String email) {
+        refreshIfStale();
+        String studentId = studentIdsByEmail.get(emailKey(email));
+        return studentId != null ? studentsById.get(studentId).copy() : null;
+    }
+
+    // True if another student (anyone but excludingStudentId, which may be null) uses the email
+    public static synchronized boolean isEmailTaken(String email, String excludingStudentId) {
+        refreshIfStale();
+        String studentId = studentIdsByEmail.get(emailKey(email));
+        return studentId != null && !studentId.equals(excludingStudentId);
+    }
+
+    public static synchronized boolean exists(String studentId) {
+        refreshIfStale();
+        return studentsById.containsKey(studentId);
+    }
+
+    public static synchronized List<Student> findAll() {
+        refreshIfStale();
+        List<Student> students = new ArrayList<>(studentsById.size());
+        for (Student student : studentsById.values()) {
+            students.add(student.copy());
+        }
+        return students;
+    }
+
+    // Number of students excluding the admin account
+    public static synchronized int countStudents() {
+        refreshIfStale();
+        return enrollmentStats.getTotalStudents();
+    }
+
+    public static synchronized int countRegistrations() {
+        refreshIfStale();
+        return enrollmentStats.getTotalRegistrations();
+    }
+
+    public static synchronized EnrollmentStats getEnrollmentStats() {
+        refreshIfStale();
+        return enrollmentStats.copy();
+    }
+
+    // Seats taken in the course across the whole roster
+    public static synchronized int countEnrolled(String courseCode) {
+        refreshIfStale();
+        return enrollmentStats.getCourseCount(courseCode);
+    }
+
+    /**
+     * Applies the mutation to a copy of the student as currently saved on
+     * disk and saves it, all under the file lock, so no other terminal can
+     * save in between. The mutation returns false to abandon the change; it
+     * must not do I/O or wait on other locks. Returns the saved student,
+     * or null if the student does not exist or the mutation declined.
+     */
+    public static Student update(String studentId, Predicate<Student> mutation) throws IOException {
+        Student[] saved = new Student[1];
+        commit(() -> {
+            Student current = studentsById.get(studentId);
+            if (current == null) {
+                return;
+            }
+            Student student = current.copy();
+            if (mutation.test(student)) {
+                commitLocked(student);
+                student.setVersion(student.getVersion() + 1);
+                saved[0] = student;
+            }
+        });
+        return saved[0];
+    }
+
+    /**
+     * Persists one new or changed student. In journaled mode this appends
+     * only the changed fields; otherwise the whole snapshot is rewritten.
+     * Fails if the student was changed since it was read, or if another
+     * student already uses the email. On success the student's version is
+     * advanced to the saved one.
+     */
+    static void save(Student student) throws IOException {
+        commit(() -> commitLocked(student));
+        student.setVersion(student.getVersion() + 1);
+    }
+
+    // Runs the work on a roster fresh from disk, with every other writer here and in other terminals shut out
+    private static void commit(LockedWork work) throws IOException {
+        if (!StudentJournal.ENABLED) {
+            synchronized (snapshotLock) {
+                synchronized (StudentRepository.class) {
+                    withFileLock(() -> {
+                        refreshIfStale();
+                        work.run();
+                    });
+                }
+            }
+            return;
+        }
+        synchronized (StudentRepository.class) {
+            withFileLock(() -> {
+                refreshIfStale();
+                work.run();
+            });
+        }
+    }
+
+    // The compare-and-swap and the write; the caller is inside commit()
+    private static void commitLocked(Student student) throws IOException {
+        Student saved = checkedForSave(student);
+        if (!StudentJournal.ENABLED) {
+            Map<String, Student> updated = new LinkedHashMap<>(studentsById);
+            updated.put(saved.getStudentId(), saved);
+            writeSnapshot(new ArrayList<>(updated.values()));
+            return;
+        }
+
+        Student previous = studentsById.get(saved.getStudentId());
+        StudentJournal.append(StudentJournal.diff(previous, saved));
+        put(saved);
+        recordFileStamps();
+        if (StudentJournal.needsCompaction()) {
+            scheduleCompaction();
+        }
+    }
+
+    // Writes a complete snapshot and discards any journal it supersedes
+    static void saveAll(List<Student> students) throws IOException {
+        synchronized (snapshotLock) {
+            synchronized (StudentRepository.class) {
+                withFileLock(() -> writeSnapshot(students));
+            }
+        }
+    }
+
+    /**
+     * Applies the mutation to a fresh copy of every student and rewrites the
+     * snapshot if any of them changed. The roster is read under the lock, so
+     * saves from other terminals are never overwritten.
+     */
+    static int updateAll(Predicate<Student> mutation) throws IOException {
+        synchronized (snapshotLock) {
+            synchronized (StudentRepository.class) {
+                int[] changed = new int[1];
+                withFileLock(() -> {
+                    refreshIfStale();
+                    List<Student> students = new ArrayList<>(studentsById.size());
+                    for (Student current : studentsById.values()) {
+                        Student student = current.copy();
+                        if (mutation.test(student)) {
+                            student.setVersion(student.getVersion() + 1);
+                            changed[0]++;
+                        }
+                        students.add(student);
+                    }
+                    if (changed[0] > 0) {
+                        writeSnapshot(students);
+                    }
+                });
+                return changed[0];
+            }
+        }
+    }
+
+    // Identifies the on-disk state the roster was read from; changes whenever any student file does
+    public static String getSourceVersion() {
+        StringBuilder version = new StringBuilder();
+        for (String fileName : TRACKED_FILES) {
+            File file = new File(fileName);
+            version.append(file.lastModified()).append(':').append(file.length()).append(';');
+        }
+        return version.toString();
+    }
+
+    public static synchronized void invalidate() {
+        loaded = false;
+    }
+
+    private static void scheduleCompaction() {
+        if (compactionRunning || !StudentJournal.beginCompaction()) {
+            return;
+        }
+        compactionRunning = true;
+        recordFileStamps();
+
+        compactionExecutor.submit(() -> {
+            try {
+                synchronized (snapshotLock) {
+                    // One section from capture to stamps: a journal entry appended by another terminal in
+                    // between would otherwise be marked as seen without ever being loaded
+                    synchronized (StudentRepository.class) {
+                        withFileLock(() -> {
+                            refreshIfStale();
+                            List<Student> snapshot = new ArrayList<>(studentsById.size());
+                            for (Student student : studentsById.values()) {
+                                snapshot.add(student.copy());
+                            }
+                            FileManager.writeStudentsFile(snapshot);
+                            StudentJournal.finishCompaction();
+                            recordFileStamps();
+                        });
+                    }
+                }
+                FileManager.logActivity("System", "Compacted student journal into snapshot");
+            } catch (IOException e) {
+                // The compacting file is still replayed on load, so nothing is lost
+                System.err.println("Failed to compact student journal: " + e.getMessage());
+            } finally {
+                synchronized (StudentRepository.class) {
+                    compactionRunning = false;
+                }
+            }
+        });
+    }
+
+    private static void refreshIfStale() {
+        if (!loaded || isStale()) {
+            // Take the stamps before reading so a concurrent write forces another reload
+            recordFileStamps();
+            Map<String, Student> students = new LinkedHashMap<>();
+            for (Student student : FileManager.readStudentsFile()) {
+                students.put(student.getStudentId(), student);
+            }
+            if (StudentJournal.ENABLED) {
+                StudentJournal.replay(students);
+            }
+            index(students.values());
+            loaded = true;
+        }
+    }
+
+    private static boolean isStale() {
+        for (int i = 0; i < TRACKED_FILES.length; i++) {
+            File file = new File(TRACKED_FILES[i]);
+            if (file.lastModified() != loadedStamps[i * 2] || file.length() != loadedStamps[i * 2 + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The compare-and-swap; returns the record to store, one version past the caller's
+    private static Student checkedForSave(Student student) throws IOException {
+        Student current = studentsById.get(student.getStudentId());
+        long currentVersion = current != null ? current.getVersion() : 0;
+        if (student.getVersion() != currentVersion) {
+            throw new VersionConflictException(student.getStudentId(), student.getVersion(), currentVersion);
+        }
+        checkEmailAvailable(student);
+        Student saved = student.copy();
+        saved.setVersion(currentVersion + 1);
+        return saved;
+    }
+
+    private static void writeSnapshot(List<Student> students) throws IOException {
+        FileManager.writeStudentsFile(students);
+        StudentJournal.clear();
+        index(students);
+        recordFileStamps();
+    }
+
+    // Held around commits only; reads go through the stamp check and never wait on other terminals
+    @SuppressWarnings("try") // The lock only has to be held, never referenced
+    private static void withFileLock(LockedWork work) throws IOException {
+        synchronized (fileLockGuard) {
+            try (RandomAccessFile access = new RandomAccessFile(LOCK_FILE, "rw");
+                 FileChannel channel = access.getChannel();
+                 FileLock lock = FileLocks.lock(channel)) {
+                work.run();
+            }
+        }
+    }
+
+    private interface LockedWork {
+        void run() throws IOException;
+    }
+
+    // Re-checked under the lock, since callers validate before the save is queued
+    private static void checkEmailAvailable(Student student) throws IOException {
+        String studentId = studentIdsByEmail.get(emailKey(student.getEmail()));
+        if (studentId != null && !studentId.equals(student.getStudentId())) {
+            throw new IOException("Email address " + student.getEmail() + " is already registered");
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void recordFileStamps() {
+        for (int i = 0; i < TRACKED_FILES.length; i++) {
+            File file = new File(TRACKED_FILES[i]);
+            loadedStamps[i * 2] = file.lastModified();
+            loadedStamps[i * 2 + 1] = file.length();
+        }
+    }
+
+    private static void index(Iterable<Student> students) {
+        studentsById.clear();
+        studentIdsByEmail.clear();
+        enrollmentStats.clear();
+
+        for (Student student : students) {
+            put(student.copy());
+        }
+    }
+
+    private static void put(Student student) {
+        Student previous = studentsById.put(student.getStudentId(), student);
+        if (previous != null) {
+            // Only drop the entry if it is ours; legacy rows may share an address
+            studentIdsByEmail.remove(emailKey(previous.getEmail()), previous.getStudentId());
+            enrollmentStats.remove(previous);
+        }
+
+        if (student.getEmail() != null) {
+            studentIdsByEmail.putIfAbsent(emailKey(student.getEmail()), student.getStudentId());
+        }
+        enrollmentStats.add(student);
+    }
+
+    /**
+     * Thrown when a save is based on an outdated copy of the student,
+     * meaning another terminal or thread saved the record first.
+     */
+    public static class VersionConflictException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public VersionConflictException(String studentId, long expectedVersion, long currentVersion) {
+            super("Student " + studentId + " was changed by another session (version "
+                    + expectedVersion + ", now " + currentVersion + ")");
+        }
+    }
+}
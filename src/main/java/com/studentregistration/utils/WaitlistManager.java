@@ -0,0 +1,398 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Course;
+import com.studentregistration.models.CourseCatalog;
+import com.studentregistration.models.Student;
+import com.studentregistration.models.Timetable;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-come, first-served waitlists for full courses.
+ *
+ * Waitlist Format: CourseCode,StudentID,JoinedAt,ClaimedBy,ClaimedAt (one row per entry, in queue order)
+ *
+ * When a seat is released the course is queued for promotion. Promotions
+ * run on a background thread in batches: every course freed within
+ * BATCH_DELAY_MILLIS is handled in one pass, so a mass drop costs the
+ * dropping students nothing. Entries whose student can no longer take the
+ * course (already enrolled, at the course limit, or a schedule clash) are
+ * skipped and removed.
+ *
+ * Several terminals share the file. Every change re-reads it under an
+ * exclusive lock on waitlists.lock and writes it back before the lock is
+ * released. Promotion claims entries from the head of a queue under that
+ * lock by marking them with the claiming terminal and time, updates the
+ * students outside it, and then removes the entries it handled and clears
+ * the claim on any that found no seat. An entry stays in the file until
+ * then, so a terminal that dies mid-promotion costs nobody their place:
+ * claims older than CLAIM_TIMEOUT_MILLIS are taken over by the next
+ * promotion.
+ */
+public class WaitlistManager {
+    static final String WAITLISTS_FILE = FileManager.STUDENTS_FILE.replace("students.txt", "waitlists.txt");
+    static final String LOCK_FILE = WAITLISTS_FILE.replace(".txt", ".lock");
+    static final long BATCH_DELAY_MILLIS = Long.getLong("registration.waitlist.batchMillis", 250);
+    static final long CLAIM_TIMEOUT_MILLIS = Long.getLong("registration.waitlist.claimTimeoutMillis", 5 * 60 * 1000);
+
+    // Tells this terminal's claims apart from those of other terminals
+    private static final String TERMINAL_ID = ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Map<String, Deque<Entry>> waitlistsByCourse = new LinkedHashMap<>();
+    private static boolean loaded;
+    private static long loadedModified;
+    private static long loadedLength;
+
+    // FileChannel locks belong to the whole process, so threads in this JVM queue here first
+    private static final Object fileLockGuard = new Object();
+
+    // Courses with released seats that the next batch should fill
+    private static final Set<String> pendingCourses = new LinkedHashSet<>();
+    private static boolean batchScheduled;
+
+    private static final ScheduledExecutorService promotionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waitlist-promotion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Adds the student to the end of the course's waitlist and returns
+     * their position (1 is next in line). Joining twice keeps the original place.
+     */
+    public static synchronized int join(String courseCode, String studentId) throws IOException {
+        int[] position = new int[1];
+        boolean[] joined = new boolean[1];
+        withFileLock(() -> {
+            refreshIfStale();
+            position[0] = getPosition(courseCode, studentId);
+            if (position[0] == 0) {
+                Deque<Entry> waitlist = waitlistsByCourse.computeIfAbsent(courseCode, code -> new ArrayDeque<>());
+                waitlist.addLast(new Entry(studentId, LocalDateTime.now().format(TIMESTAMP_FORMAT)));
+                save();
+                position[0] = waitlist.size();
+                joined[0] = true;
+            }
+        });
+        if (joined[0]) {
+            FileManager.logRegistration(studentId, "WAITLIST", courseCode, "Joined waitlist at position " + position[0]);
+        }
+        return position[0];
+    }
+
+    // 0 if the student is not waiting for the course
+    public static synchronized int getPosition(String courseCode, String studentId) {
+        refreshIfStale();
+        Deque<Entry> waitlist = waitlistsByCourse.get(courseCode);
+        if (waitlist == null) {
+            return 0;
+        }
+        int position = 1;
+        for (Entry entry : waitlist) {
+            if (entry.studentId.equals(studentId)) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    // Called after a drop is saved; returns at once and promotes in the background
+    public static synchronized void seatReleased(String courseCode) {
+        pendingCourses.add(courseCode);
+        if (!batchScheduled) {
+            batchScheduled = true;
+            promotionExecutor.schedule(WaitlistManager::promotePending, BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void promotePending() {
+        List<String> courseCodes;
+        synchronized (WaitlistManager.class) {
+            courseCodes = new ArrayList<>(pendingCourses);
+            pendingCourses.clear();
+            batchScheduled = false;
+        }
+
+        CourseCatalog catalog = FileManager.getCourseCatalog();
+        Map<String, Course> coursesByCode = catalog.toMap();
+        Map<String, List<String>> promoted = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            Course course = coursesByCode.get(courseCode);
+            if (course != null) {
+                try {
+                    promote(course, coursesByCode, promoted);
+                } catch (IOException e) {
+                    System.err.println("Failed to update the waitlist for " + courseCode + ": " + e.getMessage());
+                }
+            }
+        }
+        promoted.forEach(WaitlistManager::updateSession);
+    }
+
+    /**
+     * Fills the course's free seats from the head of its waitlist. Entries
+     * are claimed in rounds of as many as there are free seats; entries
+     * that were promoted or skipped are then removed, which makes room for
+     * another round. An entry that finds no seat is released, together with
+     * everything claimed after it, and keeps its place.
+     */
+    private static void promote(Course course, Map<String, Course> coursesByCode,
+                                Map<String, List<String>> promoted) throws IOException {
+        while (true) {
+            int seats = course.hasSeatLimit() ? SeatLedger.getAvailable(course) : Integer.MAX_VALUE;
+            List<Entry> claimed = claim(course.getCourseCode(), seats);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            int handled = 0;
+            try {
+                for (; handled < claimed.size(); handled++) {
+                    Entry entry = claimed.get(handled);
+                    Outcome outcome = tryPromote(entry, course, coursesByCode);
+                    if (outcome == Outcome.NO_SEAT) {
+                        break;
+                    }
+                    if (outcome == Outcome.PROMOTED) {
+                        promoted.computeIfAbsent(entry.studentId, id -> new ArrayList<>()).add(course.getCourseCode());
+                    }
+                }
+            } finally {
+                finishClaim(course.getCourseCode(), claimed.subList(0, handled), claimed.subList(handled, claimed.size()));
+            }
+            if (handled < claimed.size()) {
+                return;
+            }
+        }
+    }
+
+    // Student file I/O only; runs without the waitlist lock
+    private static Outcome tryPromote(Entry entry, Course course, Map<String, Course> coursesByCode) {
+        if (!canTake(StudentRepository.findById(entry.studentId), course, coursesByCode)) {
+            return Outcome.SKIPPED;
+        }
+        if (!SeatLedger.reserve(course)) {
+            // Someone registered directly in the meantime
+            return Outcome.NO_SEAT;
+        }
+        Student saved;
+        boolean[] full = new boolean[1];
+        try {
+            saved = StudentRepository.update(entry.studentId, fresh -> {
+                if (!canTake(fresh, course, coursesByCode)) {
+                    return false;
+                }
+                // Another terminal may have filled the seat since it was reserved here
+                if (course.hasSeatLimit() && StudentRepository.countEnrolled(course.getCourseCode()) >= course.getMaxSeats()) {
+                    full[0] = true;
+                    return false;
+                }
+                fresh.addCourse(course.getCourseCode());
+                return true;
+            });
+        } catch (IOException e) {
+            // Keeps the entry's place; it is retried on the next released seat
+            System.err.println("Failed to promote " + entry.studentId + " into " + course.getCourseCode() + ": " + e.getMessage());
+            SeatLedger.release(course.getCourseCode());
+            return Outcome.NO_SEAT;
+        }
+        if (saved == null) {
+            SeatLedger.release(course.getCourseCode());
+            return full[0] ? Outcome.NO_SEAT : Outcome.SKIPPED;
+        }
+        FileManager.logRegistration(entry.studentId, "PROMOTE", course.getCourseCode(),
+                "Promoted from waitlist: " + course.getCourseName());
+        return Outcome.PROMOTED;
+    }
+
+    // Claims up to count unclaimed (or abandoned) entries, nearest the head first
+    private static synchronized List<Entry> claim(String courseCode, int count) throws IOException {
+        List<Entry> claimed = new ArrayList<>();
+        if (count <= 0) {
+            return claimed;
+        }
+        withFileLock(() -> {
+            refreshIfStale();
+            Deque<Entry> waitlist = waitlistsByCourse.get(courseCode);
+            if (waitlist == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (Entry entry : waitlist) {
+                if (claimed.size() >= count) {
+                    break;
+                }
+                if (entry.claimedBy == null || now - entry.claimedAt > CLAIM_TIMEOUT_MILLIS) {
+                    entry.claimedBy = TERMINAL_ID;
+                    entry.claimedAt = now;
+                    claimed.add(entry.copy());
+                }
+            }
+            if (!claimed.isEmpty()) {
+                save();
+            }
+        });
+        return claimed;
+    }
+
+    // Removes the handled entries and releases the rest, skipping any claim another terminal has taken over
+    private static synchronized void finishClaim(String courseCode, List<Entry> handled, List<Entry> released) throws IOException {
+        withFileLock(() -> {
+            refreshIfStale();
+            Deque<Entry> waitlist = waitlistsByCourse.get(courseCode);
+            if (waitlist == null) {
+                return;
+            }
+            boolean changed = waitlist.removeIf(entry -> handled.stream().anyMatch(entry::sameClaim));
+            for (Entry entry : waitlist) {
+                if (released.stream().anyMatch(entry::sameClaim)) {
+                    entry.claimedBy = null;
+                    entry.claimedAt = 0;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                save();
+            }
+        });
+    }
+
+    private static boolean canTake(Student student, Course course, Map<String, Course> coursesByCode) {
+        if (student == null || student.getRegisteredCourses().contains(course.getCourseCode())) {
+            return false;
+        }
+        if (student.getRegisteredCourses().size() >= Student.MAX_COURSES) {
+            return false;
+        }
+        return !Timetable.of(student.getRegisteredCourses(), coursesByCode).conflictsWith(course);
+    }
+
+    // Keeps a logged-in student's session in step, so their next save does not undo the promotion
+    private static void updateSession(String studentId, List<String> courseCodes) {
+        AsyncService.runOnFxThread(() -> {
+            Student current = SessionManager.getCurrentStudent();
+            if (current != null && current.getStudentId().equals(studentId)) {
+                courseCodes.forEach(current::addCourse);
+            }
+        });
+    }
+
+    // Re-reads the file if it changed since it was last read or written here
+    private static void refreshIfStale() {
+        File file = new File(WAITLISTS_FILE);
+        if (loaded && file.lastModified() == loadedModified && file.length() == loadedLength) {
+            return;
+        }
+        // Take the stamp before reading so a concurrent write forces another reload
+        recordFileStamp();
+        loaded = true;
+        waitlistsByCourse.clear();
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split(",", -1);
+                if (parts.length == 3 || parts.length == 5) {
+                    Entry entry = new Entry(parts[1], parts[2]);
+                    if (parts.length == 5 && !parts[3].isEmpty()) {
+                        entry.claimedBy = parts[3];
+                        entry.claimedAt = Long.parseLong(parts[4]);
+                    }
+                    waitlistsByCourse.computeIfAbsent(parts[0], code -> new ArrayDeque<>()).addLast(entry);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error loading waitlists: " + e.getMessage());
+        }
+    }
+
+    // Callers hold the file lock and have just refreshed, so nothing written elsewhere is overwritten
+    private static void save() throws IOException {
+        // Rewritten on every claim, so no backups
+        AtomicFileWriter.write(WAITLISTS_FILE, 0, writer -> {
+            writer.println("# Waitlist Format: CourseCode,StudentID,JoinedAt,ClaimedBy,ClaimedAt");
+            for (Map.Entry<String, Deque<Entry>> waitlist : waitlistsByCourse.entrySet()) {
+                for (Entry entry : waitlist.getValue()) {
+                    writer.println(waitlist.getKey() + "," + entry.studentId + "," + entry.joinedAt + ","
+                            + (entry.claimedBy != null ? entry.claimedBy + "," + entry.claimedAt : ","));
+                }
+            }
+        });
+        recordFileStamp();
+    }
+
+    private static void recordFileStamp() {
+        File file = new File(WAITLISTS_FILE);
+        loadedModified = file.lastModified();
+        loadedLength = file.length();
+    }
+
+    @SuppressWarnings("try") // The lock only has to be held, never referenced
+    private static void withFileLock(LockedWork work) throws IOException {
+        synchronized (fileLockGuard) {
+            try (RandomAccessFile access = new RandomAccessFile(LOCK_FILE, "rw");
+                 FileChannel channel = access.getChannel();
+                 FileLock lock = FileLocks.lock(channel)) {
+                work.run();
+            }
+        }
+    }
+
+    private interface LockedWork {
+        void run() throws IOException;
+    }
+
+    private enum Outcome { PROMOTED, SKIPPED, NO_SEAT }
+
+    private static class Entry {
+        final String studentId;
+        final String joinedAt;
+        // Set while a terminal is promoting the entry
+        String claimedBy;
+        long claimedAt;
+
+        Entry(String studentId, String joinedAt) {
+            this.studentId = studentId;
+            this.joinedAt = joinedAt;
+        }
+
+        Entry copy() {
+            Entry copy = new Entry(studentId, joinedAt);
+            copy.claimedBy = claimedBy;
+            copy.claimedAt = claimedAt;
+            return copy;
+        }
+
+        boolean sameClaim(Entry other) {
+            return studentId.equals(other.studentId) && other.claimedBy != null
+                    && other.claimedBy.equals(claimedBy) && other.claimedAt == claimedAt;
+        }
+    }
+}
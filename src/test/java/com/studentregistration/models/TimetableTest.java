@@ -0,0 +1,51 @@
+package com.studentregistration.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class TimetableTest {
+
+    @Test
+    void reportsEveryBlockACourseSpans() {
+        Timetable timetable = new Timetable();
+        timetable.add(course("A", "MWF 9:00-10:00"));
+        timetable.add(course("B", "MWF 11:00-12:00"));
+        timetable.add(course("C", "MWF 13:00-14:00"));
+
+        assertEquals(List.of("A", "B"), codes(timetable.findConflicts(course("X", "MWF 9:30-11:30"))));
+        assertEquals(List.of("A", "B", "C"), codes(timetable.findConflicts(course("Y", "MWF 8:00-15:00"))));
+    }
+
+    @Test
+    void reportsOnlyMembersOfAMergedBlockThatOverlap() {
+        Timetable timetable = new Timetable();
+        timetable.add(course("A", "TTh 9:00-10:30"));
+        timetable.add(course("B", "TTh 10:00-11:00"));
+        timetable.add(course("C", "TTh 12:00-13:00"));
+
+        // A and B form one block; only B reaches past 10:30
+        assertEquals(List.of("B", "C"), codes(timetable.findConflicts(course("X", "TTh 10:30-12:30"))));
+    }
+
+    @Test
+    void touchingPeriodsDoNotConflict() {
+        Timetable timetable = new Timetable();
+        timetable.add(course("A", "MWF 9:00-10:00"));
+        timetable.add(course("B", "MWF 11:00-12:00"));
+
+        assertTrue(timetable.findConflicts(course("X", "MWF 10:00-11:00")).isEmpty());
+        assertTrue(timetable.findConflicts(course("Y", "TTh 9:00-12:00")).isEmpty());
+    }
+
+    private static Course course(String code, String schedule) {
+        return new Course(code, "Course " + code, "Instructor", 3, schedule);
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).collect(Collectors.toList());
+    }
+}
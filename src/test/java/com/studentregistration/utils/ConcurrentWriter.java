@@ -0,0 +1,27 @@
+package com.studentregistration.utils;
+
+import java.io.IOException;
+
+/**
+ * Stands in for another terminal in StudentRepositoryTest: increments the
+ * counter kept in a student's semester field the given number of times.
+ *
+ * Usage: ConcurrentWriter studentId count (with -Dregistration.dataDir set)
+ */
+public class ConcurrentWriter {
+
+    public static void main(String[] args) throws Exception {
+        increment(args[0], Integer.parseInt(args[1]));
+        TestDataDirectory.awaitCompaction();
+        FileManager.shutdown();
+    }
+
+    static void increment(String studentId, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            StudentRepository.update(studentId, student -> {
+                student.setSemester(String.valueOf(Integer.parseInt(student.getSemester()) + 1));
+                return true;
+            });
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.studentregistration.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogTailReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void skipsBlankLines() throws Exception {
+        String log = write("a\n\nb\n   \n\nc\n\n");
+
+        assertEquals(List.of("c"), LogTailReader.readLastLines(log, 1));
+        assertEquals(List.of("b", "c"), LogTailReader.readLastLines(log, 2));
+        assertEquals(List.of("a", "b", "c"), LogTailReader.readLastLines(log, 10));
+    }
+
+    @Test
+    void stripsCarriageReturns() throws Exception {
+        String log = write("a\r\n\r\nb\r\nc\r\n\r\n");
+
+        assertEquals(List.of("c"), LogTailReader.readLastLines(log, 1));
+        assertEquals(List.of("b", "c"), LogTailReader.readLastLines(log, 2));
+        assertEquals(List.of("a", "b", "c"), LogTailReader.readLastLines(log, 3));
+    }
+
+    @Test
+    void readsLinesThatSpanSeveralBlocks() throws Exception {
+        String longLine = "é".repeat(10_000);
+        String log = write("first\r\n" + longLine + "\r\n\n" + "last\n");
+
+        assertEquals(List.of(longLine, "last"), LogTailReader.readLastLines(log, 2));
+        assertEquals(List.of("first", longLine, "last"), LogTailReader.readLastLines(log, 3));
+    }
+
+    private String write(String content) throws Exception {
+        Path file = dir.resolve("registration_log.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toString();
+    }
+}
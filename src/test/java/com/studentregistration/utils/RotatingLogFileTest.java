@@ -0,0 +1,54 @@
+package com.studentregistration.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RotatingLogFileTest {
+    private static final long MAX_BYTES = 1000;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void setUp() {
+        // Read when RotatingLogFile loads, which surefire does in a fresh JVM for this class
+        System.setProperty("registration.log.maxBytes", String.valueOf(MAX_BYTES));
+        System.setProperty("registration.log.rollDaily", "false");
+    }
+
+    @Test
+    void utf8LengthMatchesTheEncodedSize() {
+        for (String text : new String[] {"", "plain ascii", "Zoë Ångström", "数据文件", "emoji 😀 and 𝄞", "mixed é数😀x"}) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, RotatingLogFile.utf8Length(text), text);
+        }
+    }
+
+    @Test
+    void rollsWhenTheFileReachesMaxBytesOfMultiByteText() throws Exception {
+        File active = dir.resolve("activity_log.txt").toFile();
+        RotatingLogFile logFile = new RotatingLogFile(active.getPath(), "# Zoë's log");
+        long timestamp = System.currentTimeMillis();
+        String line = "Registered Zoë Ångström for 数据结构 😀";
+
+        while (active.length() < MAX_BYTES) {
+            logFile.withFileLock(() -> {
+                assertFalse(logFile.shouldRoll(timestamp));
+                try (PrintWriter writer = logFile.openForAppend()) {
+                    writer.println(line);
+                }
+                logFile.recordWrite(timestamp, line);
+            });
+        }
+        logFile.withFileLock(() -> assertTrue(logFile.shouldRoll(timestamp),
+                "Did not roll at " + active.length() + " bytes"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.studentregistration.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.studentregistration.models.Student;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class StudentJournalTest {
+    private static final long COMPACT_BYTES = 4096;
+
+    private static Path dataDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        System.setProperty("registration.journal.compactBytes", String.valueOf(COMPACT_BYTES));
+        dataDir = TestDataDirectory.create();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        TestDataDirectory.delete(dataDir);
+    }
+
+    @Test
+    void journalReplaysOntoSnapshot() throws Exception {
+        TestDataDirectory.addStudent("STU200001");
+        StudentRepository.update("STU200001", student -> {
+            student.addCourse("CS101");
+            student.addCourse("CS201");
+            return true;
+        });
+        StudentRepository.update("STU200001", student -> {
+            student.removeCourse("CS101");
+            student.setSemester("Semester 2");
+            return true;
+        });
+        Student expected = StudentRepository.findById("STU200001");
+
+        assertTrue(new File(StudentJournal.JOURNAL_FILE).length() > 0);
+        assertEquals(expected.toString(), readFromDisk().get("STU200001").toString());
+        assertEquals(List.of("CS201"), expected.getRegisteredCourses());
+        assertEquals("Semester 2", expected.getSemester());
+    }
+
+    @Test
+    void compactionKeepsEveryChange() throws Exception {
+        TestDataDirectory.addStudent("STU200002");
+        int updates = 0;
+        long snapshotModified = new File(FileManager.STUDENTS_FILE).lastModified();
+        while (new File(FileManager.STUDENTS_FILE).lastModified() == snapshotModified && updates < 1000) {
+            String courseCode = "CS" + (100 + updates % 7);
+            StudentRepository.update("STU200002", student -> {
+                if (student.getRegisteredCourses().contains(courseCode)) {
+                    student.removeCourse(courseCode);
+                } else {
+                    student.addCourse(courseCode);
+                }
+                return true;
+            });
+            updates++;
+            TestDataDirectory.awaitCompaction();
+        }
+        assertTrue(updates < 1000, "The journal was never compacted");
+        // One more change lands in the journal that replaced the compacted one
+        StudentRepository.update("STU200002", student -> {
+            student.setProgram("Mathematics");
+            return true;
+        });
+
+        Student expected = StudentRepository.findById("STU200002");
+        assertEquals(updates + 2, expected.getVersion());
+        assertTrue(new File(StudentJournal.JOURNAL_FILE).length() < COMPACT_BYTES);
+        assertFalse(new File(StudentJournal.COMPACTING_FILE).exists());
+        assertEquals(expected.toString(), readFromDisk().get("STU200002").toString());
+
+        StudentRepository.invalidate();
+        assertEquals(expected.toString(), StudentRepository.findById("STU200002").toString());
+    }
+
+    @Test
+    void nonAsciiNamesSurviveCompaction() throws Exception {
+        // Surefire runs with a US-ASCII default charset, so this fails if any path falls back to it
+        TestDataDirectory.addStudent("STU200003");
+        StudentRepository.update("STU200003", student -> {
+            student.setName("Zoë Ångström");
+            return true;
+        });
+        StudentRepository.saveAll(StudentRepository.findAll());
+
+        StudentRepository.invalidate();
+        assertEquals("Zoë Ångström", StudentRepository.findById("STU200003").getName());
+        assertEquals("Zoë Ångström", readFromDisk().get("STU200003").getName());
+    }
+
+    // The roster as a fresh terminal would load it: the snapshot with the journal replayed on top
+    private static Map<String, Student> readFromDisk() {
+        Map<String, Student> students = new LinkedHashMap<>();
+        for (Student student : FileManager.readStudentsFile()) {
+            students.put(student.getStudentId(), student);
+        }
+        StudentJournal.replay(students);
+        assertNotNull(students.get("admin"));
+        return students;
+    }
+}
@@ -0,0 +1,117 @@
+package com.studentregistration.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.studentregistration.models.Student;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class StudentRepositoryTest {
+    private static final int THREADS = 4;
+    private static final int UPDATES_PER_THREAD = 50;
+    private static final int UPDATES_PER_PROCESS = 100;
+
+    private static Path dataDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // Small enough that both writers below compact while the other is appending
+        System.setProperty("registration.journal.compactBytes", "2048");
+        dataDir = TestDataDirectory.create();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        TestDataDirectory.delete(dataDir);
+    }
+
+    @Test
+    void staleSaveIsRejected() throws Exception {
+        TestDataDirectory.addStudent("STU300001");
+        Student first = StudentRepository.findById("STU300001");
+        Student second = StudentRepository.findById("STU300001");
+
+        first.setSemester("Semester 2");
+        StudentRepository.save(first);
+        second.setSemester("Semester 3");
+        assertThrows(StudentRepository.VersionConflictException.class, () -> StudentRepository.save(second));
+
+        Student saved = StudentRepository.findById("STU300001");
+        assertEquals("Semester 2", saved.getSemester());
+        assertEquals(2, saved.getVersion());
+    }
+
+    @Test
+    void updateAppliesToTheSavedRecord() throws Exception {
+        TestDataDirectory.addStudent("STU300002");
+        Student stale = StudentRepository.findById("STU300002");
+        StudentRepository.update("STU300002", student -> {
+            student.addCourse("CS101");
+            return true;
+        });
+
+        Student saved = StudentRepository.update(stale.getStudentId(), student -> {
+            student.addCourse("CS201");
+            return true;
+        });
+        assertEquals(List.of("CS101", "CS201"), saved.getRegisteredCourses());
+        assertEquals(3, saved.getVersion());
+    }
+
+    @Test
+    void concurrentWritersLoseNoUpdates() throws Exception {
+        TestDataDirectory.addStudent("STU300003");
+        StudentRepository.update("STU300003", student -> {
+            student.setSemester("0");
+            return true;
+        });
+
+        // A second terminal on the same data directory, plus several threads in this one
+        Process terminal = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dregistration.dataDir=" + dataDir,
+                "-Dregistration.journal.compactBytes=2048",
+                ConcurrentWriter.class.getName(), "STU300003", String.valueOf(UPDATES_PER_PROCESS))
+                .inheritIO()
+                .start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            writers.add(executor.submit(() -> {
+                ConcurrentWriter.increment("STU300003", UPDATES_PER_THREAD);
+                return null;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        if (!terminal.waitFor(60, TimeUnit.SECONDS)) {
+            terminal.destroyForcibly();
+        }
+        assertEquals(0, terminal.exitValue());
+        TestDataDirectory.awaitCompaction();
+
+        int expected = THREADS * UPDATES_PER_THREAD + UPDATES_PER_PROCESS;
+        StudentRepository.invalidate();
+        Student saved = StudentRepository.findById("STU300003");
+        assertEquals(String.valueOf(expected), saved.getSemester());
+        assertEquals(expected + 2, saved.getVersion());
+        assertEquals(1, StudentRepository.findAll().stream()
+                .filter(student -> student.getStudentId().equals("STU300003")).count());
+        assertFalse(new File(StudentJournal.COMPACTING_FILE).exists());
+    }
+}
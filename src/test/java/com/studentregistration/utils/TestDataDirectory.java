@@ -0,0 +1,61 @@
+package com.studentregistration.utils;
+
+import com.studentregistration.models.Student;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Temporary data directory for one test class.
+ *
+ * FileManager fixes its data directory when the class loads, so create()
+ * must run before anything touches it. Surefire starts a fresh JVM for
+ * every test class, which gives each class its own directory.
+ */
+final class TestDataDirectory {
+    private static final long COMPACTION_TIMEOUT_MILLIS = 10_000;
+
+    private TestDataDirectory() {
+    }
+
+    static Path create() throws IOException {
+        Path dataDir = Files.createTempDirectory("registration-test-");
+        System.setProperty("registration.dataDir", dataDir.toString());
+        AsyncService.setHeadless(true);
+        if (!FileManager.initializeDataFiles()) {
+            throw new IOException("Could not initialize " + dataDir);
+        }
+        // Lets the startup credential migration finish so it cannot race the tests
+        CredentialStore.migrate();
+        return dataDir;
+    }
+
+    static void delete(Path dataDir) throws IOException {
+        FileManager.shutdown();
+        try (Stream<Path> paths = Files.walk(dataDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    static Student addStudent(String studentId) throws IOException {
+        Student student = new Student(studentId, "Student " + studentId, studentId.toLowerCase() + "@university.edu",
+                "Computer Science", "Semester 1", CredentialStore.PASSWORD_MARKER);
+        StudentRepository.save(student);
+        return student;
+    }
+
+    // Waits until no terminal is folding the journal into the snapshot
+    static void awaitCompaction() throws InterruptedException {
+        File compacting = new File(StudentJournal.COMPACTING_FILE);
+        long deadline = System.currentTimeMillis() + COMPACTION_TIMEOUT_MILLIS;
+        while (compacting.exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        if (compacting.exists()) {
+            throw new IllegalStateException("Journal compaction did not finish within " + COMPACTION_TIMEOUT_MILLIS + " ms");
+        }
+    }
+}